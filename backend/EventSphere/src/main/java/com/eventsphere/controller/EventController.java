@@ -2,25 +2,31 @@ package com.eventsphere.controller;
 
 import com.eventsphere.dto.ApiResponse;
 import com.eventsphere.dto.EventDTO;
+import com.eventsphere.dto.EventPageDTO;
+import com.eventsphere.dto.PublicEventFilter;
 import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
 import com.eventsphere.entity.user.User;
 import com.eventsphere.mapper.EventMapper;
 import com.eventsphere.mapper.ResponseMapper;
 import com.eventsphere.service.EventService;
+import com.eventsphere.service.ImageService;
 import com.eventsphere.service.ParticipantService;
 import com.eventsphere.utils.SecurityUtils;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @RequestMapping("/api/event")
 @RestController
@@ -43,18 +49,68 @@ public class EventController {
 
     @Autowired
     private ResponseMapper responseMapper;
+
+    @Autowired
+    private ImageService imageService;
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse<?>> getMyEvents() {
+    public ResponseEntity<ApiResponse<?>> getMyEvents(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit) {
         User user = securityUtils.getAuthenticatedUser();
-        List<EventDTO> events = eventService.getMyActiveEventsWithUserInfo(user.getId());
-        return ResponseEntity.ok(ApiResponse.success("Meus eventos carregados com sucesso", events));
+        EventPageDTO page = eventService.getMyActiveEventsWithUserInfo(user.getId(), cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Meus eventos carregados com sucesso", page.getEvents(), page.getNextCursor()));
     }
 
     @GetMapping("/public")
-    public ResponseEntity<ApiResponse<?>> getPublicEvents() {
+    public ResponseEntity<ApiResponse<?>> getPublicEvents(
+        @RequestParam(required = false) String state,
+        @RequestParam(required = false) Integer classification,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) Boolean hasFreeSeats,
+        @RequestParam(required = false) String sort,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit) {
+        User user = securityUtils.getAuthenticatedUser();
+        PublicEventFilter filter = new PublicEventFilter(state, classification, from, to, hasFreeSeats);
+        EventPageDTO page = eventService.getPublicEventsWithUserInfo(user.getId(), filter, sort, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Eventos públicos carregados com sucesso", page.getEvents(), page.getNextCursor()));
+    }
+
+    @GetMapping("/public/facets")
+    public ResponseEntity<ApiResponse<?>> getPublicEventFacets(
+        @RequestParam(required = false) String state,
+        @RequestParam(required = false) Integer classification,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) Boolean hasFreeSeats) {
+        PublicEventFilter filter = new PublicEventFilter(state, classification, from, to, hasFreeSeats);
+        return ResponseEntity.ok(ApiResponse.success("Facetas carregadas com sucesso", eventService.getPublicEventFacets(filter)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<?>> searchEvents(
+        @RequestParam String q,
+        @RequestParam(required = false) Integer limit) {
+        User user = securityUtils.getAuthenticatedUser();
+        return ResponseEntity.ok(ApiResponse.success("Busca realizada com sucesso", eventService.searchEvents(user.getId(), q, limit)));
+    }
+
+    @GetMapping("/localizations")
+    public ResponseEntity<ApiResponse<?>> suggestLocalizations(
+        @RequestParam(required = false) String prefix,
+        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success("Locais carregados com sucesso", eventService.suggestLocalizations(prefix, limit)));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<ApiResponse<?>> getCalendarEvents(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) String scope) {
         User user = securityUtils.getAuthenticatedUser();
-        List<EventDTO> events = eventService.getPublicEventsWithUserInfo(user.getId(), null, null);
-        return ResponseEntity.ok(ApiResponse.success("Eventos públicos carregados com sucesso", events));
+        return ResponseEntity.ok(ApiResponse.success("Calendário carregado com sucesso",
+                eventService.getCalendarEvents(user.getId(), from, to, scope)));
     }
 
     @PostMapping("/register")
@@ -73,6 +129,15 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success("Detalhes do evento carregados com sucesso", eventDTO));
     }
 
+    @GetMapping("/{eventId}/photo")
+    public ResponseEntity<byte[]> getEventPhoto(@PathVariable Long eventId) {
+        String photo = eventService.getEventPhoto(eventId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(imageService.extractMimeType(photo)))
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate())
+                .body(imageService.decode(photo));
+    }
+
     @PutMapping("/{eventId}")
     public ResponseEntity<ApiResponse<?>> updateEvent(@RequestBody EventDTO eventDTO, @PathVariable Long eventId) {
         User user = securityUtils.getAuthenticatedUser();
@@ -106,9 +171,14 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success("Código do evento gerado com sucesso", data));
     }
 
+    // Aberto também a quem não entrou no sistema, que só recebe a prévia do evento, sem vaga guardada
     @GetMapping("/invite/{token}")
     public ResponseEntity<ApiResponse<?>> getEventByInviteToken(@PathVariable String token) {
-        EventDTO eventDTO = eventService.validateInviteToken(token);
+        User user = securityUtils.getAuthenticatedUser();
+        if (user == null) {
+            return ResponseEntity.ok(ApiResponse.success("Evento encontrado", eventService.previewInvite(token)));
+        }
+        EventDTO eventDTO = eventService.openInvite(token, user.getId());
         return ResponseEntity.ok(ApiResponse.success("Evento encontrado", eventDTO));
     }
 
@@ -121,7 +191,10 @@ public class EventController {
             EventDTO eventDTO = eventService.validateInviteToken(token);
             
             
-            Event event = participantService.addParticipantByInvite(user.getId(), token, null);
+            EventParticipant participant = participantService.addParticipantByInvite(user.getId(), token, null);
+            if (participant.getCurrentStatus() == ParticipantStatus.WAITLISTED) {
+                return ResponseEntity.ok(ApiResponse.success("Evento lotado: você entrou na lista de espera", participantService.waitlistStatus(participant)));
+            }
             
             return ResponseEntity.ok(ApiResponse.success("Participação confirmada com sucesso", eventDTO));
         } catch (Exception e) {
@@ -136,33 +209,32 @@ public class EventController {
     }
 
     @GetMapping("/participating")
-    public ResponseEntity<ApiResponse<?>> getParticipatingEvents() {
+    public ResponseEntity<ApiResponse<?>> getParticipatingEvents(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit) {
         User user = securityUtils.getAuthenticatedUser();
-        List<EventDTO> participatingEvents = eventService.getParticipatingEventsForUser(user.getId());
-        return ResponseEntity.ok(ApiResponse.success("Eventos carregados com sucesso", participatingEvents));
+        EventPageDTO page = eventService.getParticipatingEventsForUser(user.getId(), cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Eventos carregados com sucesso", page.getEvents(), page.getNextCursor()));
     }
 
     @GetMapping("/next-events")
     public ResponseEntity<ApiResponse<?>> getNextEvents(
         @RequestParam(defaultValue = "false") boolean onlyPublic,
-        @RequestParam(defaultValue = "false") boolean onlyMine) {
+        @RequestParam(defaultValue = "false") boolean onlyMine,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit) {
         
         User user = securityUtils.getAuthenticatedUser();
         
         if (onlyPublic) {
-            List<EventDTO> events = eventService.getNextPublicEventsWithUserInfo(user.getId());
-            return ResponseEntity.ok(ApiResponse.success("Próximos eventos públicos carregados com sucesso", events));
+            EventPageDTO page = eventService.getNextPublicEventsWithUserInfo(user.getId(), cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success("Próximos eventos públicos carregados com sucesso", page.getEvents(), page.getNextCursor()));
         } else if (onlyMine) {
-            List<EventDTO> events = eventService.getNextEventsWithUserInfo(user.getId());
-            return ResponseEntity.ok(ApiResponse.success("Meus próximos eventos carregados com sucesso", events));
+            EventPageDTO page = eventService.getNextEventsWithUserInfo(user.getId(), cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success("Meus próximos eventos carregados com sucesso", page.getEvents(), page.getNextCursor()));
         } else {
-            List<EventDTO> myEvents = eventService.getNextEventsWithUserInfo(user.getId());
-            List<EventDTO> publicEvents = eventService.getNextPublicEventsWithUserInfo(user.getId());
-            
-            Set<EventDTO> allEvents = new HashSet<>(myEvents);
-            allEvents.addAll(publicEvents);
-            
-            return ResponseEntity.ok(ApiResponse.success("Próximos eventos carregados com sucesso", new ArrayList<>(allEvents)));
+            EventPageDTO page = eventService.getNextEventsAndPublicWithUserInfo(user.getId(), cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success("Próximos eventos carregados com sucesso", page.getEvents(), page.getNextCursor()));
         }
     }
 
@@ -206,10 +278,12 @@ public class EventController {
     }
 
     @GetMapping("/all-my")
-    public ResponseEntity<ApiResponse<?>> getAllMyEvents() {
+    public ResponseEntity<ApiResponse<?>> getAllMyEvents(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit) {
         User user = securityUtils.getAuthenticatedUser();
         // Chama um método específico que não aplica filtros de estado
-        List<EventDTO> events = eventService.getAllMyEventsWithUserInfo(user.getId());
-        return ResponseEntity.ok(ApiResponse.success("Todos os meus eventos carregados com sucesso", events));
+        EventPageDTO page = eventService.getAllMyEventsWithUserInfo(user.getId(), cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Todos os meus eventos carregados com sucesso", page.getEvents(), page.getNextCursor()));
     }
 }
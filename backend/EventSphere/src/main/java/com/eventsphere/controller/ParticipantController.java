@@ -1,6 +1,8 @@
 package com.eventsphere.controller;
 
 import com.eventsphere.dto.ApiResponse;
+import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
 import com.eventsphere.entity.user.User;
 import com.eventsphere.service.ParticipantService;
 import com.eventsphere.utils.SecurityUtils;
@@ -44,7 +46,10 @@ public class ParticipantController {
             User authUser = securityUtils.getAuthenticatedUser();
             Object eventIdObj = request.get("eventId");
             
-            participantService.joinPublicEventFromRequest(eventIdObj, authUser.getId());
+            EventParticipant participant = participantService.joinPublicEventFromRequest(eventIdObj, authUser.getId());
+            if (participant.getCurrentStatus() == ParticipantStatus.WAITLISTED) {
+                return waitlisted(participant);
+            }
             return ResponseEntity.ok(ApiResponse.success("Você agora é um participante deste evento", null));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -60,7 +65,10 @@ public class ParticipantController {
             Object eventIdObj = request.get("eventId");
             String inviteToken = (String) request.get("inviteToken");
             
-            participantService.joinEventWithInvite(eventIdObj, inviteToken, authUser.getId());
+            EventParticipant participant = participantService.joinEventWithInvite(eventIdObj, inviteToken, authUser.getId());
+            if (participant.getCurrentStatus() == ParticipantStatus.WAITLISTED) {
+                return waitlisted(participant);
+            }
             return ResponseEntity.ok(ApiResponse.success("Você agora é um participante deste evento via convite", null));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -69,6 +77,13 @@ public class ParticipantController {
         }
     }
 
+    @GetMapping("/waitlist/{eventId}")
+    public ResponseEntity<ApiResponse<?>> getWaitlistStatus(@PathVariable Long eventId) {
+        User authUser = securityUtils.getAuthenticatedUser();
+        Map<String, Object> status = participantService.getWaitlistStatus(eventId, authUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Situação na lista de espera", status));
+    }
+
     @PutMapping("/confirm/{eventID}/{userID}")
     public ResponseEntity<ApiResponse<?>> confirmParticipant(@PathVariable Long eventID, @PathVariable Long userID) {
         try {
@@ -114,6 +129,14 @@ public class ParticipantController {
         }
     }
 
+    @PostMapping("/bulk/{eventId}")
+    public ResponseEntity<ApiResponse<?>> bulkUpdate(@PathVariable Long eventId, @RequestBody Map<String, Object> request) {
+        User authUser = securityUtils.getAuthenticatedUser();
+        Map<String, Object> report = participantService.bulkUpdate(eventId, request.get("action"), request.get("userIds"),
+                request.get("status"), authUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Operação em lote concluída", report));
+    }
+
     @PostMapping("/generate-qr-code/{eventId}")
     public ResponseEntity<ApiResponse<?>> generateQrCode(@PathVariable Long eventId) {
         User authUser = securityUtils.getAuthenticatedUser();
@@ -138,7 +161,10 @@ public class ParticipantController {
                 return ResponseEntity.badRequest().body(ApiResponse.error("Código do evento é obrigatório"));
             }
             
-            participantService.joinEventWithCode(eventCode, authUser.getId());
+            EventParticipant participant = participantService.joinEventWithCode(eventCode, authUser.getId());
+            if (participant.getCurrentStatus() == ParticipantStatus.WAITLISTED) {
+                return waitlisted(participant);
+            }
             return ResponseEntity.ok(ApiResponse.success("Você agora é um participante deste evento", null));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -230,4 +256,9 @@ public class ParticipantController {
             return ResponseEntity.internalServerError().body(ApiResponse.error("Erro ao buscar participantes presentes: " + e.getMessage()));
         }
     }
+
+    private ResponseEntity<ApiResponse<?>> waitlisted(EventParticipant participant) {
+        return ResponseEntity.ok(ApiResponse.success("Evento lotado: você entrou na lista de espera",
+                participantService.waitlistStatus(participant)));
+    }
 }
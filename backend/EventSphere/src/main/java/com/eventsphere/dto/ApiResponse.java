@@ -1,9 +1,13 @@
 package com.eventsphere.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public ApiResponse() {}
 
@@ -17,6 +21,12 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, message, data);
     }
 
+    public static <T> ApiResponse<T> success(String message, T data, String nextCursor) {
+        ApiResponse<T> response = new ApiResponse<>(true, message, data);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+
     public static <T> ApiResponse<T> success(T data) {
         return new ApiResponse<>(true, null, data);
     }
@@ -52,4 +62,12 @@ public class ApiResponse<T> {
     public void setData(T data) {
         this.data = data;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
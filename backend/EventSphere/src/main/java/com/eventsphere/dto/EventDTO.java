@@ -4,6 +4,7 @@ import com.eventsphere.entity.event.Acess;
 import com.eventsphere.entity.event.State;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -38,6 +39,13 @@ public class EventDTO {
     private String inviteToken;
     private String inviteCode;
     private boolean canEdit; 
+    private int invitedCount;
+    private int confirmedCount;
+    private int presentCount;
+    private int totalCount;
+    private int waitlistedCount;
+    // Até quando vale a vaga guardada para quem abriu o convite; null se nenhuma foi guardada
+    private LocalDateTime seatHeldUntil;
 
 
     public EventDTO() {
@@ -82,6 +90,41 @@ public class EventDTO {
         this.acess = acess;
     }
 
+    // Cópia sem os campos do usuário; as listas são compartilhadas e tratadas como somente leitura
+    public EventDTO(EventDTO other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.dateFixedStart = other.dateFixedStart;
+        this.dateStart = other.dateStart;
+        this.dateFixedEnd = other.dateFixedEnd;
+        this.dateEnd = other.dateEnd;
+        this.timeFixedStart = other.timeFixedStart;
+        this.timeStart = other.timeStart;
+        this.timeFixedEnd = other.timeFixedEnd;
+        this.timeEnd = other.timeEnd;
+        this.localization = other.localization;
+        this.description = other.description;
+        this.maxParticipants = other.maxParticipants;
+        this.invitedCount = other.invitedCount;
+        this.confirmedCount = other.confirmedCount;
+        this.presentCount = other.presentCount;
+        this.totalCount = other.totalCount;
+        this.waitlistedCount = other.waitlistedCount;
+        this.classification = other.classification;
+        this.acess = other.acess;
+        this.photo = other.photo;
+        this.state = other.state;
+        this.ownerId = other.ownerId;
+        this.ownerName = other.ownerName;
+        this.ownerEmail = other.ownerEmail;
+        this.ownerPhoto = other.ownerPhoto;
+        this.collaboratorIds = other.collaboratorIds;
+        this.participantIds = other.participantIds;
+        this.participants = other.participants;
+        this.inviteToken = other.inviteToken;
+        this.inviteCode = other.inviteCode;
+    }
+
 
     public Long getId() {
         return id;
@@ -314,4 +357,52 @@ public class EventDTO {
     public void setCanEdit(boolean canEdit) {
         this.canEdit = canEdit;
     }
+
+    public int getInvitedCount() {
+        return invitedCount;
+    }
+
+    public void setInvitedCount(int invitedCount) {
+        this.invitedCount = invitedCount;
+    }
+
+    public int getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public void setConfirmedCount(int confirmedCount) {
+        this.confirmedCount = confirmedCount;
+    }
+
+    public int getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(int presentCount) {
+        this.presentCount = presentCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public int getWaitlistedCount() {
+        return waitlistedCount;
+    }
+
+    public void setWaitlistedCount(int waitlistedCount) {
+        this.waitlistedCount = waitlistedCount;
+    }
+
+    public LocalDateTime getSeatHeldUntil() {
+        return seatHeldUntil;
+    }
+
+    public void setSeatHeldUntil(LocalDateTime seatHeldUntil) {
+        this.seatHeldUntil = seatHeldUntil;
+    }
 }
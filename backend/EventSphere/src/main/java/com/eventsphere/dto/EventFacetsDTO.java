@@ -0,0 +1,59 @@
+package com.eventsphere.dto;
+
+import com.eventsphere.entity.event.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contagens por valor de cada faceta do catálogo público. A contagem de uma faceta aplica os filtros
+ * das demais, mas não o dela mesma, para que o cliente veja quantos eventos cada alternativa traria.
+ */
+public class EventFacetsDTO {
+    private Map<State, Long> states = new LinkedHashMap<>();
+    private Map<Integer, Long> classifications = new TreeMap<>();
+    private long withFreeSeats;
+    private long withoutFreeSeats;
+    private long total;
+
+    public Map<State, Long> getStates() {
+        return states;
+    }
+
+    public void setStates(Map<State, Long> states) {
+        this.states = states;
+    }
+
+    public Map<Integer, Long> getClassifications() {
+        return classifications;
+    }
+
+    public void setClassifications(Map<Integer, Long> classifications) {
+        this.classifications = classifications;
+    }
+
+    public long getWithFreeSeats() {
+        return withFreeSeats;
+    }
+
+    public void setWithFreeSeats(long withFreeSeats) {
+        this.withFreeSeats = withFreeSeats;
+    }
+
+    public long getWithoutFreeSeats() {
+        return withoutFreeSeats;
+    }
+
+    public void setWithoutFreeSeats(long withoutFreeSeats) {
+        this.withoutFreeSeats = withoutFreeSeats;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventsphere.dto;
+
+import java.util.List;
+
+public class EventPageDTO {
+    private List<EventSummaryDTO> events;
+    private String nextCursor;
+
+    public EventPageDTO() {}
+
+    public EventPageDTO(List<EventSummaryDTO> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EventSummaryDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventSummaryDTO> events) {
+        this.events = events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,242 @@
+package com.eventsphere.dto;
+
+import com.eventsphere.entity.event.Acess;
+import com.eventsphere.entity.event.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Resumo de evento usado nas listagens. É montado direto pela consulta (construtor JPQL),
+ * sem carregar a foto, colaboradores ou participantes; a foto é referenciada por imageUrl.
+ */
+public class EventSummaryDTO {
+    private Long id;
+    private String name;
+    private LocalDate dateFixedStart;
+    private LocalTime timeFixedStart;
+    private LocalDate dateFixedEnd;
+    private LocalTime timeFixedEnd;
+    private LocalDate dateStart;
+    private LocalDate dateEnd;
+    private LocalDateTime fixedStartAt;
+    private String localization;
+    private State state;
+    private Acess acess;
+    private int maxParticipants;
+    private Long ownerId;
+    private String ownerName;
+    private long participantCount;
+    private String imageUrl;
+    private String userStatus;
+    private boolean userConfirmed;
+    private boolean canEdit;
+
+    public EventSummaryDTO() {}
+
+    public EventSummaryDTO(Long id, String name, LocalDate dateFixedStart, LocalTime timeFixedStart,
+                           LocalDate dateFixedEnd, LocalTime timeFixedEnd, LocalDate dateStart, LocalDate dateEnd,
+                           LocalDateTime fixedStartAt, String localization, State state, Acess acess,
+                           int maxParticipants, Long ownerId, String ownerName, long participantCount,
+                           boolean hasPhoto) {
+        this.id = id;
+        this.name = name;
+        this.dateFixedStart = dateFixedStart;
+        this.timeFixedStart = timeFixedStart;
+        this.dateFixedEnd = dateFixedEnd;
+        this.timeFixedEnd = timeFixedEnd;
+        this.dateStart = dateStart;
+        this.dateEnd = dateEnd;
+        this.fixedStartAt = fixedStartAt;
+        this.localization = localization;
+        this.state = state;
+        this.acess = acess;
+        this.maxParticipants = maxParticipants;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+        this.participantCount = participantCount;
+        this.imageUrl = hasPhoto ? "/api/event/" + id + "/photo" : null;
+    }
+
+    // Cópia sem os campos do usuário, para aplicar o contexto de quem consulta sobre dados compartilhados
+    public EventSummaryDTO(EventSummaryDTO other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.dateFixedStart = other.dateFixedStart;
+        this.timeFixedStart = other.timeFixedStart;
+        this.dateFixedEnd = other.dateFixedEnd;
+        this.timeFixedEnd = other.timeFixedEnd;
+        this.dateStart = other.dateStart;
+        this.dateEnd = other.dateEnd;
+        this.fixedStartAt = other.fixedStartAt;
+        this.localization = other.localization;
+        this.state = other.state;
+        this.acess = other.acess;
+        this.maxParticipants = other.maxParticipants;
+        this.ownerId = other.ownerId;
+        this.ownerName = other.ownerName;
+        this.participantCount = other.participantCount;
+        this.imageUrl = other.imageUrl;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getDateFixedStart() {
+        return dateFixedStart;
+    }
+
+    public void setDateFixedStart(LocalDate dateFixedStart) {
+        this.dateFixedStart = dateFixedStart;
+    }
+
+    public LocalTime getTimeFixedStart() {
+        return timeFixedStart;
+    }
+
+    public void setTimeFixedStart(LocalTime timeFixedStart) {
+        this.timeFixedStart = timeFixedStart;
+    }
+
+    public LocalDate getDateFixedEnd() {
+        return dateFixedEnd;
+    }
+
+    public void setDateFixedEnd(LocalDate dateFixedEnd) {
+        this.dateFixedEnd = dateFixedEnd;
+    }
+
+    public LocalTime getTimeFixedEnd() {
+        return timeFixedEnd;
+    }
+
+    public void setTimeFixedEnd(LocalTime timeFixedEnd) {
+        this.timeFixedEnd = timeFixedEnd;
+    }
+
+    public LocalDate getDateStart() {
+        return dateStart;
+    }
+
+    public void setDateStart(LocalDate dateStart) {
+        this.dateStart = dateStart;
+    }
+
+    public LocalDate getDateEnd() {
+        return dateEnd;
+    }
+
+    public void setDateEnd(LocalDate dateEnd) {
+        this.dateEnd = dateEnd;
+    }
+
+    public LocalDateTime getFixedStartAt() {
+        return fixedStartAt;
+    }
+
+    public void setFixedStartAt(LocalDateTime fixedStartAt) {
+        this.fixedStartAt = fixedStartAt;
+    }
+
+    public String getLocalization() {
+        return localization;
+    }
+
+    public void setLocalization(String localization) {
+        this.localization = localization;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public Acess getAcess() {
+        return acess;
+    }
+
+    public void setAcess(Acess acess) {
+        this.acess = acess;
+    }
+
+    public int getMaxParticipants() {
+        return maxParticipants;
+    }
+
+    public void setMaxParticipants(int maxParticipants) {
+        this.maxParticipants = maxParticipants;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public void setOwnerName(String ownerName) {
+        this.ownerName = ownerName;
+    }
+
+    public long getParticipantCount() {
+        return participantCount;
+    }
+
+    public void setParticipantCount(long participantCount) {
+        this.participantCount = participantCount;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getUserStatus() {
+        return userStatus;
+    }
+
+    public void setUserStatus(String userStatus) {
+        this.userStatus = userStatus;
+    }
+
+    public boolean isUserConfirmed() {
+        return userConfirmed;
+    }
+
+    public void setUserConfirmed(boolean userConfirmed) {
+        this.userConfirmed = userConfirmed;
+    }
+
+    public boolean isCanEdit() {
+        return canEdit;
+    }
+
+    public void setCanEdit(boolean canEdit) {
+        this.canEdit = canEdit;
+    }
+}
@@ -0,0 +1,99 @@
+package com.eventsphere.dto;
+
+import com.eventsphere.entity.event.State;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Prévia do evento para quem abre o convite sem estar logado: só o que a página de convite mostra,
+ * sem participantes, código do convite nem dados de contato do organizador.
+ */
+public class InvitePreviewDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private String localization;
+    private LocalDate dateFixedStart;
+    private LocalTime timeFixedStart;
+    private LocalDate dateFixedEnd;
+    private LocalTime timeFixedEnd;
+    private int classification;
+    private State state;
+    private String ownerName;
+    private int maxParticipants;
+    private int totalCount;
+
+    public InvitePreviewDTO() {
+    }
+
+    public InvitePreviewDTO(Long id, String name, String description, String localization,
+                            LocalDate dateFixedStart, LocalTime timeFixedStart, LocalDate dateFixedEnd, LocalTime timeFixedEnd,
+                            int classification, State state, String ownerName, int maxParticipants, int totalCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.localization = localization;
+        this.dateFixedStart = dateFixedStart;
+        this.timeFixedStart = timeFixedStart;
+        this.dateFixedEnd = dateFixedEnd;
+        this.timeFixedEnd = timeFixedEnd;
+        this.classification = classification;
+        this.state = state;
+        this.ownerName = ownerName;
+        this.maxParticipants = maxParticipants;
+        this.totalCount = totalCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLocalization() {
+        return localization;
+    }
+
+    public LocalDate getDateFixedStart() {
+        return dateFixedStart;
+    }
+
+    public LocalTime getTimeFixedStart() {
+        return timeFixedStart;
+    }
+
+    public LocalDate getDateFixedEnd() {
+        return dateFixedEnd;
+    }
+
+    public LocalTime getTimeFixedEnd() {
+        return timeFixedEnd;
+    }
+
+    public int getClassification() {
+        return classification;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public int getMaxParticipants() {
+        return maxParticipants;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+}
@@ -0,0 +1,65 @@
+package com.eventsphere.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionais do catálogo público. O estado chega como texto e é interpretado pelo EventService;
+ * a janela de datas considera o dia de início do evento, com as duas pontas inclusivas.
+ */
+public class PublicEventFilter {
+
+    // Mesmos limites usados pelo EventCursor, para que a janela aberta não exclua nenhum evento
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final String state;
+    private final Integer classification;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Boolean hasFreeSeats;
+
+    public PublicEventFilter() {
+        this(null, null, null, null, null);
+    }
+
+    public PublicEventFilter(String state, Integer classification, LocalDate from, LocalDate to, Boolean hasFreeSeats) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final");
+        }
+        this.state = state;
+        this.classification = classification;
+        this.from = from;
+        this.to = to;
+        this.hasFreeSeats = hasFreeSeats;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public Integer getClassification() {
+        return classification;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Boolean getHasFreeSeats() {
+        return hasFreeSeats;
+    }
+
+    public LocalDateTime getStartsFrom() {
+        return from != null ? from.atStartOfDay() : EARLIEST;
+    }
+
+    // Limite exclusivo: início do dia seguinte a "to"
+    public LocalDateTime getStartsBefore() {
+        return to != null ? to.plusDays(1).atStartOfDay() : LATEST;
+    }
+}
@@ -2,15 +2,27 @@ package com.eventsphere.entity.event;
 
 import com.eventsphere.entity.user.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_event_state_fixed_start_at", columnList = "state, fixedStartAt"),
+        @Index(name = "idx_event_state_fixed_end_at", columnList = "state, fixedEndAt"),
+        @Index(name = "idx_event_acess_state_fixed_start_at", columnList = "acess, state, fixedStartAt"),
+        @Index(name = "idx_event_long_running_fixed_end_at", columnList = "longRunning, fixedEndAt"),
+        @Index(name = "idx_event_owner_fixed_start_at", columnList = "owner_id, fixedStartAt")
+})
 public class Event {
 
+    // Eventos mais longos que isso são marcados como longRunning e consultados à parte pelo calendário
+    public static final Duration LONG_RUNNING_THRESHOLD = Duration.ofDays(7);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,6 +40,10 @@ public class Event {
     @Column(nullable = false)
     private LocalTime timeFixedEnd;
     private LocalTime timeEnd;
+    // Início/fim fixos combinados, mantidos pela própria entidade para permitir filtros e ordenação indexados
+    private LocalDateTime fixedStartAt;
+    private LocalDateTime fixedEndAt;
+    private Boolean longRunning;
     @Column(nullable = false)
     private String localization;
     @Column(nullable = false)
@@ -57,6 +73,25 @@ public class Event {
     @Column(unique = true, length = 8)
     private String inviteCode;
 
+    // Contadores de participantes por situação, mantidos só por UPDATEs atômicos (ParticipantCounters);
+    // a entidade nunca os grava, para que um save com valores antigos não desfaça incrementos concorrentes
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int invitedCount;
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int confirmedCount;
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int presentCount;
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int totalCount;
+    // Quem está na lista de espera não ocupa vaga e fica fora do totalCount
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int waitlistedCount;
+
     public Event(String name, LocalDate dateFixedStart, LocalDate dateFixedEnd, LocalTime timeFixedStart, LocalTime timeFixedEnd, String localization, String description, int maxParticipants, int classification, Acess acess, String photo, State state, User owner) {
         this.name = name;
         this.dateFixedStart = dateFixedStart;
@@ -71,6 +106,7 @@ public class Event {
         this.photo = photo;
         this.state = state;
         this.owner = owner;
+        syncFixedInstants();
     }
 
     public Event(String name, LocalDate dateFixedStart, LocalDate dateFixedEnd, LocalTime timeFixedStart, LocalTime timeFixedEnd, String localization, String description, int maxParticipants, int classification, Acess acess, State state, User owner) {
@@ -86,6 +122,7 @@ public class Event {
         this.acess = acess;
         this.state = state;
         this.owner = owner;
+        syncFixedInstants();
     }
 
     public Event() {
@@ -114,6 +151,7 @@ public class Event {
 
     public void setDateFixedStart(LocalDate dateFixedStart) {
         this.dateFixedStart = dateFixedStart;
+        syncFixedInstants();
     }
 
     public LocalDate getDateStart() {
@@ -130,6 +168,7 @@ public class Event {
 
     public void setDateFixedEnd(LocalDate dateFixedEnd) {
         this.dateFixedEnd = dateFixedEnd;
+        syncFixedInstants();
     }
 
     public LocalDate getDateEnd() {
@@ -146,6 +185,7 @@ public class Event {
 
     public void setTimeFixedStart(LocalTime timeFixedStart) {
         this.timeFixedStart = timeFixedStart;
+        syncFixedInstants();
     }
 
     public LocalTime getTimeStart() {
@@ -162,6 +202,7 @@ public class Event {
 
     public void setTimeFixedEnd(LocalTime timeFixedEnd) {
         this.timeFixedEnd = timeFixedEnd;
+        syncFixedInstants();
     }
 
     public LocalTime getTimeEnd() {
@@ -172,6 +213,30 @@ public class Event {
         this.timeEnd = timeEnd;
     }
 
+    public LocalDateTime getFixedStartAt() {
+        return fixedStartAt;
+    }
+
+    public LocalDateTime getFixedEndAt() {
+        return fixedEndAt;
+    }
+
+    public Boolean getLongRunning() {
+        return longRunning;
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void syncFixedInstants() {
+        fixedStartAt = dateFixedStart != null && timeFixedStart != null ? LocalDateTime.of(dateFixedStart, timeFixedStart) : null;
+        fixedEndAt = dateFixedEnd != null && timeFixedEnd != null ? LocalDateTime.of(dateFixedEnd, timeFixedEnd) : null;
+        longRunning = fixedStartAt != null && fixedEndAt != null ? isLongRunning(fixedStartAt, fixedEndAt) : null;
+    }
+
+    public static boolean isLongRunning(LocalDateTime fixedStartAt, LocalDateTime fixedEndAt) {
+        return Duration.between(fixedStartAt, fixedEndAt).compareTo(LONG_RUNNING_THRESHOLD) > 0;
+    }
+
     public String getLocalization() {
         return localization;
     }
@@ -251,6 +316,26 @@ public class Event {
     public void setParticipants(List<EventParticipant> participants) {
         this.participants = participants;
     }
+
+    public int getInvitedCount() {
+        return invitedCount;
+    }
+
+    public int getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public int getPresentCount() {
+        return presentCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getWaitlistedCount() {
+        return waitlistedCount;
+    }
     public LocalDateTime getDate(){
     if (dateStart == null || timeStart == null){
         return LocalDateTime.of(dateFixedStart, timeFixedStart);
@@ -7,7 +7,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = EventParticipant.UNIQUE_MEMBERSHIP, columnNames = {"event_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_participant_event_status", columnList = "event_id, current_status"),
+        @Index(name = "idx_participant_user_event", columnList = "user_id, event_id")
+})
 public class EventParticipant {
+
+    // Um usuário participa no máximo uma vez de cada evento
+    public static final String UNIQUE_MEMBERSHIP = "uk_participant_event_user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
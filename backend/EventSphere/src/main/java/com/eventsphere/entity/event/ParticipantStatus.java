@@ -4,5 +4,6 @@ public enum ParticipantStatus {
     INVITED,
     PENDING,
     CONFIRMED,
-    PRESENT
+    PRESENT,
+    WAITLISTED
 }
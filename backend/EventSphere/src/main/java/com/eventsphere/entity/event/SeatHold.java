@@ -0,0 +1,66 @@
+package com.eventsphere.entity.event;
+
+import com.eventsphere.entity.user.User;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vaga guardada para um usuário que abriu o convite de um evento, até expiresAt. Conta como ocupada
+ * para os demais ao entrar no evento, mas fica fora dos contadores do Event, que não é travado para
+ * criá-la. Depois de expirada deixa de contar mesmo que a linha ainda não tenha sido apagada.
+ */
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_seat_hold_event_user", columnNames = {"event_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_seat_hold_event_expires_at", columnList = "event_id, expiresAt"),
+        @Index(name = "idx_seat_hold_expires_at", columnList = "expiresAt")
+})
+public class SeatHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public SeatHold() {
+
+    }
+
+    public SeatHold(Event event, User user, LocalDateTime expiresAt) {
+        this.event = event;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.eventsphere.entity.scheduler;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private String holder;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private long fencingToken;
+
+    public SchedulerLease() {
+
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getHolder() {
+        return holder;
+    }
+
+    public void setHolder(String holder) {
+        this.holder = holder;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.logging.Logger;
 
@@ -61,6 +62,13 @@ public class GlobalExceptionHandler {
             .body(ApiResponse.error(errorMessage));
     }
     
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiResponse<?>> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        logger.warning("Invalid parameter " + e.getName() + ": " + e.getValue());
+        return ResponseEntity.badRequest()
+            .body(ApiResponse.error("Parâmetro inválido: " + e.getName()));
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleGeneral(Exception e) {
         logger.severe("Unexpected error: " + e.getMessage());
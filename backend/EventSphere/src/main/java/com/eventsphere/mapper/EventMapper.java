@@ -1,14 +1,18 @@
 package com.eventsphere.mapper;
 
 import com.eventsphere.dto.EventDTO;
+import com.eventsphere.dto.EventSummaryDTO;
+import com.eventsphere.dto.InvitePreviewDTO;
 import com.eventsphere.dto.ParticipantDTO;
 import com.eventsphere.entity.event.Event;
 import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
 import com.eventsphere.entity.user.User;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -52,6 +56,11 @@ public class EventMapper {
         dto.setLocalization(event.getLocalization());
         dto.setDescription(event.getDescription());
         dto.setMaxParticipants(event.getMaxParticipants());
+        dto.setInvitedCount(event.getInvitedCount());
+        dto.setConfirmedCount(event.getConfirmedCount());
+        dto.setPresentCount(event.getPresentCount());
+        dto.setTotalCount(event.getTotalCount());
+        dto.setWaitlistedCount(event.getWaitlistedCount());
         dto.setClassification(event.getClassification());
         dto.setAcess(event.getAcess());
         dto.setPhoto(event.getPhoto());
@@ -89,6 +98,13 @@ public class EventMapper {
         return dto;
     }
 
+    public InvitePreviewDTO toInvitePreview(Event event) {
+        return new InvitePreviewDTO(event.getId(), event.getName(), event.getDescription(), event.getLocalization(),
+                event.getDateFixedStart(), event.getTimeFixedStart(), event.getDateFixedEnd(), event.getTimeFixedEnd(),
+                event.getClassification(), event.getState(), event.getOwner() != null ? event.getOwner().getName() : null,
+                event.getMaxParticipants(), event.getTotalCount());
+    }
+
     public Event toEntity(EventDTO dto) {
         if (dto == null) {
             return null;
@@ -161,12 +177,12 @@ public class EventMapper {
                 isCollaborator = true;
             } else if (event.getParticipants() != null && 
                       event.getParticipants().stream().anyMatch(p -> p.getUser().getId().equals(currentUserId))) {
-                dto.setUserStatus("participant");
-                isCollaborator = event.getParticipants().stream()
+                EventParticipant participant = event.getParticipants().stream()
                     .filter(p -> p.getUser().getId().equals(currentUserId))
                     .findFirst()
-                    .map(EventParticipant::isCollaborator)
-                    .orElse(false);
+                    .orElseThrow();
+                dto.setUserStatus(participantStatus(participant.getCurrentStatus()));
+                isCollaborator = participant.isCollaborator();
                 dto.setUserConfirmed(event.getParticipants().stream()
                         .filter(p -> p.getUser().getId().equals(currentUserId))
                         .findFirst()
@@ -181,6 +197,41 @@ public class EventMapper {
         return dto;
     }
 
+    /**
+     * Mesmo resultado de toDTOWithUserContext, calculado a partir de um EventDTO já montado,
+     * para quando o DTO sem contexto é compartilhado entre requisições.
+     */
+    public EventDTO applyUserContext(EventDTO dto, Long currentUserId) {
+        boolean isOwner = false;
+        boolean isCollaborator = false;
+        if (currentUserId != null) {
+            ParticipantDTO participant = dto.getParticipants() == null ? null : dto.getParticipants().stream()
+                    .filter(p -> currentUserId.equals(p.getUserId()))
+                    .findFirst()
+                    .orElse(null);
+            if (currentUserId.equals(dto.getOwnerId())) {
+                dto.setUserStatus("owner");
+                isOwner = true;
+            } else if (dto.getCollaboratorIds() != null && dto.getCollaboratorIds().contains(currentUserId)) {
+                dto.setUserStatus("collaborator");
+                isCollaborator = true;
+            } else if (participant != null) {
+                dto.setUserStatus(participantStatus(ParticipantStatus.valueOf(participant.getStatus())));
+                isCollaborator = participant.isCollaborator();
+                dto.setUserConfirmed("CONFIRMED".equals(participant.getStatus()));
+            } else {
+                dto.setUserStatus("visitor");
+            }
+        }
+        dto.setCanEdit(isOwner || isCollaborator);
+        return dto;
+    }
+
+    // Quem está na lista de espera ainda não participa: não confirma presença nem gera QR Code
+    static String participantStatus(ParticipantStatus status) {
+        return status == ParticipantStatus.WAITLISTED ? "waitlisted" : "participant";
+    }
+
     public List<EventDTO> toDTOList(List<Event> events) {
         if (events == null) {
             return null;
@@ -191,16 +242,41 @@ public class EventMapper {
                 .collect(Collectors.toList());
     }
 
-    public List<EventDTO> toDTOListWithUserContext(List<Event> events, Long currentUserId) {
+    public List<EventDTO> toDTOListWithUserContext(List<Event> events, Long currentUserId,
+                                                   Map<Long, EventMembership> memberships) {
         if (events == null) {
             return null;
         }
 
         return events.stream()
-                .map(event -> toDTOWithUserContext(event, currentUserId))
+                .map(event -> {
+                    EventDTO dto = toDTO(event);
+                    if (currentUserId != null) {
+                        boolean isOwner = currentUserId.equals(dto.getOwnerId());
+                        EventMembership membership = memberships.getOrDefault(event.getId(), EventMembership.NONE);
+                        dto.setUserStatus(membership.userStatus(isOwner));
+                        dto.setUserConfirmed(membership.userConfirmed(isOwner));
+                        dto.setCanEdit(membership.canEdit(isOwner));
+                    }
+                    return dto;
+                })
                 .collect(Collectors.toList());
     }
 
+    public void applyUserContext(List<EventSummaryDTO> events, Long currentUserId,
+                                 Map<Long, EventMembership> memberships) {
+        if (events == null || currentUserId == null) {
+            return;
+        }
+        for (EventSummaryDTO dto : events) {
+            boolean isOwner = currentUserId.equals(dto.getOwnerId());
+            EventMembership membership = memberships.getOrDefault(dto.getId(), EventMembership.NONE);
+            dto.setUserStatus(membership.userStatus(isOwner));
+            dto.setUserConfirmed(membership.userConfirmed(isOwner));
+            dto.setCanEdit(membership.canEdit(isOwner));
+        }
+    }
+
     public void updateEntity(Event event, EventDTO dto) {
         if (event == null || dto == null) {
             return;
@@ -0,0 +1,43 @@
+package com.eventsphere.mapper;
+
+import com.eventsphere.entity.event.ParticipantStatus;
+
+/**
+ * Vínculo do usuário atual com um evento, carregado em lote para uma lista de eventos.
+ * Segue a mesma precedência de EventMapper.toDTOWithUserContext: dono, colaborador, participante, visitante.
+ */
+public class EventMembership {
+
+    public static final EventMembership NONE = new EventMembership(false, null, false);
+
+    private final boolean listedCollaborator;
+    private final ParticipantStatus participantStatus;
+    private final boolean participantCollaborator;
+
+    public EventMembership(boolean listedCollaborator, ParticipantStatus participantStatus, boolean participantCollaborator) {
+        this.listedCollaborator = listedCollaborator;
+        this.participantStatus = participantStatus;
+        this.participantCollaborator = participantCollaborator;
+    }
+
+    public String userStatus(boolean owner) {
+        if (owner) {
+            return "owner";
+        }
+        if (listedCollaborator) {
+            return "collaborator";
+        }
+        return participantStatus != null ? EventMapper.participantStatus(participantStatus) : "visitor";
+    }
+
+    public boolean canEdit(boolean owner) {
+        if (owner || listedCollaborator) {
+            return true;
+        }
+        return participantStatus != null && participantCollaborator;
+    }
+
+    public boolean userConfirmed(boolean owner) {
+        return "participant".equals(userStatus(owner)) && participantStatus == ParticipantStatus.CONFIRMED;
+    }
+}
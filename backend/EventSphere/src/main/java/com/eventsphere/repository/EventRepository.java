@@ -1,33 +1,84 @@
 package com.eventsphere.repository;
 
+import com.eventsphere.dto.EventSummaryDTO;
 import com.eventsphere.entity.event.Acess;
 import com.eventsphere.entity.event.Event;
 import com.eventsphere.entity.event.State;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
+
+    // Evento com vaga livre; maxParticipants <= 0 significa sem limite
+    String HAS_FREE_SEAT = "(e.maxParticipants <= 0 OR e.totalCount < e.maxParticipants)";
+
+    // Vaga livre também descontando as reservas de convite (SeatHold) ainda válidas de outros usuários
+    String HAS_UNHELD_SEAT = "(e.maxParticipants <= 0 OR e.totalCount + " +
+            "(SELECT COUNT(h) FROM SeatHold h WHERE h.event = e AND h.expiresAt > :now AND h.user.id <> :userId) " +
+            "< e.maxParticipants)";
+
+    // Colunas do EventSummaryDTO; a foto entra apenas como indicador de existência
+    String SUMMARY_SELECT = "SELECT new com.eventsphere.dto.EventSummaryDTO(e.id, e.name, " +
+            "e.dateFixedStart, e.timeFixedStart, e.dateFixedEnd, e.timeFixedEnd, e.dateStart, e.dateEnd, " +
+            "e.fixedStartAt, e.localization, e.state, e.acess, e.maxParticipants, o.id, o.name, " +
+            "e.totalCount, " +
+            "CASE WHEN e.photo IS NULL THEN false ELSE true END) " +
+            "FROM Event e LEFT JOIN e.owner o ";
+
+    // Filtros opcionais do catálogo público (PublicEventFilter); parâmetros nulos não restringem
+    String CATALOG_FILTER = "AND (:classification IS NULL OR e.classification = :classification) " +
+            "AND e.fixedStartAt >= :startsFrom AND e.fixedStartAt < :startsBefore " +
+            "AND (:hasFreeSeats IS NULL " +
+            "OR (:hasFreeSeats = true AND " + HAS_FREE_SEAT + ") " +
+            "OR (:hasFreeSeats = false AND NOT " + HAS_FREE_SEAT + ")) ";
+
     Event findByName(String name);    Event findByDescription(String description);
 
     Optional<Event> findByInviteToken(String inviteToken);    
     Event findByInviteCode(String inviteCode);
 
+    // Plano de busca do EventDTO completo: dono e participantes com seus usuários numa única consulta;
+    // colaboradores e papéis dos usuários chegam em lote (hibernate.default_batch_fetch_size)
+    @EntityGraph(attributePaths = {"owner", "participants", "participants.user"})
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findDetailedById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"owner", "participants", "participants.user"})
+    @Query("SELECT e FROM Event e WHERE e.inviteToken = :inviteToken")
+    Optional<Event> findDetailedByInviteToken(@Param("inviteToken") String inviteToken);
+
+    @EntityGraph(attributePaths = {"owner"})
+    @Query("SELECT e FROM Event e WHERE e.inviteToken = :inviteToken")
+    Optional<Event> findWithOwnerByInviteToken(@Param("inviteToken") String inviteToken);
+
+    @EntityGraph(attributePaths = {"owner", "participants", "participants.user"})
+    @Query("SELECT e FROM Event e WHERE e.inviteCode = :inviteCode")
+    Event findDetailedByInviteCode(@Param("inviteCode") String inviteCode);
+
     @Query("SELECT e.inviteCode FROM Event e WHERE e.inviteCode IS NOT NULL")
     Set<String> findAllInviteCodes();
 
     @Query("SELECT e FROM Event e " +
             "JOIN e.participants p " +
             "WHERE p.user.id = :userID AND e.state IN ('CREATED', 'ACTIVE') " +
-            "ORDER BY COALESCE(e.dateStart, e.dateFixedStart) ASC")
+            "ORDER BY e.fixedStartAt ASC, e.id ASC")
     List<Event> findAllMyEvents(@Param("userID") Long userID);
 
     @Query("SELECT e FROM Event e WHERE e.acess = 'PUBLIC' AND e.state IN ('CREATED', 'ACTIVE') ORDER BY " +
-            "COALESCE(e.dateStart, e.dateFixedStart) ASC")
+            "e.fixedStartAt ASC, e.id ASC")
     List<Event> findAllpublicEvents();
 
     List<Event> findByOwnerId(Long ownerId);
@@ -37,21 +88,246 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByAcess(Acess acess);
 
-    @Query("SELECT e FROM Event e WHERE e.acess = :acess AND e.state NOT IN :excludedStates ORDER BY COALESCE(e.dateStart, e.dateFixedStart) ASC")
+    @Query("SELECT e FROM Event e WHERE e.acess = :acess AND e.state NOT IN :excludedStates ORDER BY e.fixedStartAt ASC, e.id ASC")
     List<Event> findByAcessAndStateNotIn(@Param("acess") Acess acess, @Param("excludedStates") List<State> excludedStates);
 
-    @Query("SELECT e FROM Event e WHERE e.owner.id = :ownerId AND e.state NOT IN :excludedStates ORDER BY COALESCE(e.dateStart, e.dateFixedStart) ASC")
+    @Query("SELECT e FROM Event e WHERE e.owner.id = :ownerId AND e.state NOT IN :excludedStates ORDER BY e.fixedStartAt ASC, e.id ASC")
     List<Event> findByOwnerIdAndStateNotIn(@Param("ownerId") Long ownerId, @Param("excludedStates") List<State> excludedStates);
 
     @Query("SELECT e FROM Event e JOIN e.participants p WHERE p.user.id = :userId")
     List<Event> findEventsByParticipantUserId(@Param("userId") Long userId);
 
-    @Query("SELECT e FROM Event e WHERE e.owner.id = :ownerId AND e.state IN :states ORDER BY COALESCE(e.dateStart, e.dateFixedStart) ASC")
+    @Query("SELECT e FROM Event e WHERE e.owner.id = :ownerId AND e.state IN :states ORDER BY e.fixedStartAt ASC, e.id ASC")
     List<Event> findByOwnerIdAndStateIn(@Param("ownerId") Long ownerId, @Param("states") List<State> states);
 
     @Query("SELECT DISTINCT e FROM Event e JOIN e.participants p WHERE p.user.id = :userId AND e.state IN :states")
     List<Event> findByParticipantsUserIdAndStateIn(@Param("userId") Long userId, @Param("states") List<State> states);
 
-    @Query("SELECT e FROM Event e WHERE e.acess = :acess AND e.state IN :states ORDER BY COALESCE(e.dateStart, e.dateFixedStart) ASC")
+    @Query("SELECT e FROM Event e WHERE e.acess = :acess AND e.state IN :states ORDER BY e.fixedStartAt ASC, e.id ASC")
     List<Event> findByAcessAndStateIn(@Param("acess") Acess acess, @Param("states") List<State> states);
+
+    // Páginas keyset: eventos posteriores ao cursor (afterStart, afterId) na ordem (fixedStartAt, id)
+    @Query(SUMMARY_SELECT + "WHERE e.acess = :acess AND e.state IN :states " + CATALOG_FILTER +
+           "AND (e.fixedStartAt > :afterStart OR (e.fixedStartAt = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findPageByAcess(@Param("acess") Acess acess, @Param("states") List<State> states,
+                                          @Param("classification") Integer classification,
+                                          @Param("startsFrom") LocalDateTime startsFrom, @Param("startsBefore") LocalDateTime startsBefore,
+                                          @Param("hasFreeSeats") Boolean hasFreeSeats,
+                                          @Param("afterStart") LocalDateTime afterStart, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE e.acess = :acess AND e.state IN :states " + CATALOG_FILTER +
+           "AND (e.fixedStartAt < :beforeStart OR (e.fixedStartAt = :beforeStart AND e.id < :beforeId)) " +
+           "ORDER BY e.fixedStartAt DESC, e.id DESC")
+    List<EventSummaryDTO> findPageByAcessDesc(@Param("acess") Acess acess, @Param("states") List<State> states,
+                                              @Param("classification") Integer classification,
+                                              @Param("startsFrom") LocalDateTime startsFrom, @Param("startsBefore") LocalDateTime startsBefore,
+                                              @Param("hasFreeSeats") Boolean hasFreeSeats,
+                                              @Param("beforeStart") LocalDateTime beforeStart, @Param("beforeId") Long beforeId,
+                                              Pageable pageable);
+
+    /**
+     * Cubo das facetas do catálogo: uma linha por (estado, classificação) com o total de eventos e quantos
+     * ainda têm vagas. As contagens por faceta saem da soma dessas linhas, sem carregar os eventos.
+     */
+    @Query("SELECT e.state, e.classification, COUNT(e), " +
+           "SUM(CASE WHEN " + HAS_FREE_SEAT + " THEN 1 ELSE 0 END) " +
+           "FROM Event e WHERE e.acess = :acess AND e.state IN :states " +
+           "AND e.fixedStartAt >= :startsFrom AND e.fixedStartAt < :startsBefore " +
+           "GROUP BY e.state, e.classification")
+    List<Object[]> countFacets(@Param("acess") Acess acess, @Param("states") List<State> states,
+                               @Param("startsFrom") LocalDateTime startsFrom, @Param("startsBefore") LocalDateTime startsBefore);
+
+    // Eventos do usuário: dono, participante ou colaborador, sem duplicatas por serem filtrados com EXISTS
+    @Query("SELECT e FROM Event e WHERE e.state IN :states " +
+           "AND (e.owner.id = :userId " +
+           "OR EXISTS (SELECT p.id FROM EventParticipant p WHERE p.event = e AND p.user.id = :userId) " +
+           "OR EXISTS (SELECT c.id FROM e.collaborators c WHERE c.id = :userId))")
+    @EntityGraph(attributePaths = {"owner"})
+    List<Event> findByMember(@Param("userId") Long userId, @Param("states") List<State> states, Sort sort);
+
+    @Query(SUMMARY_SELECT + "WHERE e.state IN :states " +
+           "AND (e.owner.id = :userId " +
+           "OR EXISTS (SELECT p.id FROM EventParticipant p WHERE p.event = e AND p.user.id = :userId) " +
+           "OR EXISTS (SELECT c.id FROM e.collaborators c WHERE c.id = :userId)) " +
+           "AND (e.fixedStartAt > :afterStart OR (e.fixedStartAt = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findPageByMember(@Param("userId") Long userId, @Param("states") List<State> states,
+                                           @Param("afterStart") LocalDateTime afterStart, @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // Sobreposição com a janela [windowStart, windowEnd) do calendário. Eventos curtos (longRunning = false)
+    // começam no máximo LONG_RUNNING_THRESHOLD antes da janela, então o intervalo de fixedStartAt é limitado
+    // e percorrido pelo índice de início; os longos, poucos, são lidos pelo índice (longRunning, fixedEndAt).
+    @Query(SUMMARY_SELECT + "WHERE e.acess = :acess AND e.state IN :states AND e.longRunning = false " +
+           "AND e.fixedStartAt >= :earliestStart AND e.fixedStartAt < :windowEnd AND e.fixedEndAt > :windowStart " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findShortOverlappingByAcess(@Param("acess") Acess acess, @Param("states") List<State> states,
+                                                      @Param("earliestStart") LocalDateTime earliestStart,
+                                                      @Param("windowStart") LocalDateTime windowStart,
+                                                      @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query(SUMMARY_SELECT + "WHERE e.longRunning = true AND e.fixedEndAt > :windowStart AND e.fixedStartAt < :windowEnd " +
+           "AND e.acess = :acess AND e.state IN :states " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findLongOverlappingByAcess(@Param("acess") Acess acess, @Param("states") List<State> states,
+                                                     @Param("windowStart") LocalDateTime windowStart,
+                                                     @Param("windowEnd") LocalDateTime windowEnd);
+
+    // Eventos do usuário no calendário, um ramo por vínculo para que cada um use o seu índice: os do dono
+    // por (owner, fixedStartAt), com a mesma separação entre curtos e longos do ramo público; os de
+    // participante e colaborador partem das linhas do usuário, que são poucas, e filtram a janela no evento
+    @Query(SUMMARY_SELECT + "WHERE e.owner.id = :userId AND e.state IN :states AND e.longRunning = false " +
+           "AND e.fixedStartAt >= :earliestStart AND e.fixedStartAt < :windowEnd AND e.fixedEndAt > :windowStart " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findShortOverlappingByOwner(@Param("userId") Long userId, @Param("states") List<State> states,
+                                                      @Param("earliestStart") LocalDateTime earliestStart,
+                                                      @Param("windowStart") LocalDateTime windowStart,
+                                                      @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query(SUMMARY_SELECT + "WHERE e.owner.id = :userId AND e.longRunning = true " +
+           "AND e.fixedEndAt > :windowStart AND e.fixedStartAt < :windowEnd AND e.state IN :states " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findLongOverlappingByOwner(@Param("userId") Long userId, @Param("states") List<State> states,
+                                                     @Param("windowStart") LocalDateTime windowStart,
+                                                     @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query(SUMMARY_SELECT + "WHERE e.id IN (SELECT p.event.id FROM EventParticipant p WHERE p.user.id = :userId) " +
+           "AND e.fixedStartAt < :windowEnd AND e.fixedEndAt > :windowStart AND e.state IN :states " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findOverlappingByParticipant(@Param("userId") Long userId, @Param("states") List<State> states,
+                                                       @Param("windowStart") LocalDateTime windowStart,
+                                                       @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query(SUMMARY_SELECT + "WHERE e.id IN (SELECT ce.id FROM Event ce JOIN ce.collaborators c WHERE c.id = :userId) " +
+           "AND e.fixedStartAt < :windowEnd AND e.fixedEndAt > :windowStart AND e.state IN :states " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findOverlappingByCollaborator(@Param("userId") Long userId, @Param("states") List<State> states,
+                                                        @Param("windowStart") LocalDateTime windowStart,
+                                                        @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query(SUMMARY_SELECT + "WHERE " +
+           "EXISTS (SELECT p.id FROM EventParticipant p WHERE p.event = e AND p.user.id = :userId) " +
+           "AND (e.fixedStartAt > :afterStart OR (e.fixedStartAt = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.fixedStartAt ASC, e.id ASC")
+    List<EventSummaryDTO> findPageByParticipant(@Param("userId") Long userId,
+                                                @Param("afterStart") LocalDateTime afterStart, @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE e.id IN :ids")
+    List<EventSummaryDTO> findSummariesByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT e.id FROM Event e WHERE e.owner.id = :userId " +
+           "OR EXISTS (SELECT p.id FROM EventParticipant p WHERE p.event = e AND p.user.id = :userId) " +
+           "OR EXISTS (SELECT c.id FROM e.collaborators c WHERE c.id = :userId)")
+    List<Long> findMemberEventIds(@Param("userId") Long userId);
+
+    @Query("SELECT e.id, e.name, e.localization, e.description, e.acess, e.state, e.fixedEndAt FROM Event e")
+    List<Object[]> findSearchableFields();
+
+    @Query("SELECT e.id, e.localization FROM Event e WHERE e.acess = :acess")
+    List<Object[]> findLocalizationsByAcess(@Param("acess") Acess acess);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.invitedCount = e.invitedCount + :invited, e.confirmedCount = e.confirmedCount + :confirmed, " +
+           "e.presentCount = e.presentCount + :present, e.waitlistedCount = e.waitlistedCount + :waitlisted, " +
+           "e.totalCount = e.totalCount + :total WHERE e.id = :id")
+    int adjustParticipantCounters(@Param("id") Long id, @Param("invited") int invited, @Param("confirmed") int confirmed,
+                                  @Param("present") int present, @Param("waitlisted") int waitlisted, @Param("total") int total);
+
+    // Ocupa uma vaga só se ainda houver capacidade; a linha do evento fica travada até o fim da transação
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.invitedCount = e.invitedCount + :invited, e.confirmedCount = e.confirmedCount + :confirmed, " +
+           "e.presentCount = e.presentCount + :present, e.waitlistedCount = e.waitlistedCount + :waitlisted, " +
+           "e.totalCount = e.totalCount + 1 " +
+           "WHERE e.id = :id AND " + HAS_UNHELD_SEAT)
+    int reserveSeat(@Param("id") Long id, @Param("invited") int invited, @Param("confirmed") int confirmed,
+                    @Param("present") int present, @Param("waitlisted") int waitlisted,
+                    @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.id FROM Event e WHERE " +
+           "e.totalCount <> (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus <> 'WAITLISTED') " +
+           "OR e.invitedCount <> (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'INVITED') " +
+           "OR e.confirmedCount <> (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'CONFIRMED') " +
+           "OR e.presentCount <> (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'PRESENT') " +
+           "OR e.waitlistedCount <> (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'WAITLISTED')")
+    List<Long> findIdsWithStaleParticipantCounters(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET " +
+           "e.totalCount = (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus <> 'WAITLISTED'), " +
+           "e.invitedCount = (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'INVITED'), " +
+           "e.confirmedCount = (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'CONFIRMED'), " +
+           "e.presentCount = (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'PRESENT'), " +
+           "e.waitlistedCount = (SELECT COUNT(p) FROM EventParticipant p WHERE p.event = e AND p.currentStatus = 'WAITLISTED') " +
+           "WHERE e.id IN :ids")
+    int recountParticipants(@Param("ids") List<Long> ids);
+
+    @Query("SELECT e.photo FROM Event e WHERE e.id = :id")
+    String findPhotoById(@Param("id") Long id);
+
+    @Query("SELECT e.id FROM Event e JOIN e.collaborators c WHERE c.id = :userId AND e.id IN :eventIds")
+    List<Long> findCollaboratingEventIds(@Param("userId") Long userId, @Param("eventIds") List<Long> eventIds);
+
+    @Query("SELECT e.id, e.state, e.fixedStartAt, e.fixedEndAt FROM Event e WHERE e.state IN :states")
+    List<Object[]> findScheduleByStateIn(@Param("states") List<State> states);
+
+    @Query("SELECT e.id FROM Event e WHERE e.fixedStartAt IS NULL OR e.fixedEndAt IS NULL OR e.longRunning IS NULL")
+    List<Long> findIdsWithoutFixedInstants(Pageable pageable);
+
+    @Query("SELECT e.id, e.dateFixedStart, e.timeFixedStart, e.dateFixedEnd, e.timeFixedEnd FROM Event e WHERE e.id IN :ids")
+    List<Object[]> findFixedScheduleByIdIn(@Param("ids") List<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.fixedStartAt = :fixedStartAt, e.fixedEndAt = :fixedEndAt, e.longRunning = :longRunning WHERE e.id = :id")
+    int updateFixedInstants(@Param("id") Long id, @Param("fixedStartAt") LocalDateTime fixedStartAt,
+                            @Param("fixedEndAt") LocalDateTime fixedEndAt, @Param("longRunning") Boolean longRunning);
+
+    // Transições automáticas num único UPDATE pelos índices (state, fixedStartAt) e (state, fixedEndAt), sem ler
+    // os eventos antes; o EXISTS do lease impede que uma líder destituída altere qualquer linha. As versões
+    // por id atendem aos lotes tirados da fila de transições, e as demais à varredura de segurança
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.state = 'ACTIVE', " +
+            "e.timeStart = CASE WHEN e.dateStart IS NULL THEN :time ELSE e.timeStart END, " +
+            "e.dateStart = CASE WHEN e.dateStart IS NULL THEN :date ELSE e.dateStart END " +
+            "WHERE e.id IN :ids AND e.state = 'CREATED' AND e.fixedStartAt <= :now " +
+            "AND EXISTS (SELECT l.name FROM SchedulerLease l WHERE l.name = :lease AND l.fencingToken = :fencingToken)")
+    int startEventsByIdIn(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now, @Param("date") LocalDate date, @Param("time") LocalTime time,
+                          @Param("lease") String lease, @Param("fencingToken") long fencingToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.state = 'FINISHED', " +
+            "e.timeEnd = CASE WHEN e.dateEnd IS NULL THEN :time ELSE e.timeEnd END, " +
+            "e.dateEnd = CASE WHEN e.dateEnd IS NULL THEN :date ELSE e.dateEnd END " +
+            "WHERE e.id IN :ids AND e.state = 'ACTIVE' AND e.fixedEndAt <= :now " +
+            "AND EXISTS (SELECT l.name FROM SchedulerLease l WHERE l.name = :lease AND l.fencingToken = :fencingToken)")
+    int finishEventsByIdIn(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now, @Param("date") LocalDate date, @Param("time") LocalTime time,
+                           @Param("lease") String lease, @Param("fencingToken") long fencingToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.state = 'ACTIVE', " +
+            "e.timeStart = CASE WHEN e.dateStart IS NULL THEN :time ELSE e.timeStart END, " +
+            "e.dateStart = CASE WHEN e.dateStart IS NULL THEN :date ELSE e.dateStart END " +
+            "WHERE e.state = 'CREATED' AND e.fixedStartAt <= :now " +
+            "AND EXISTS (SELECT l.name FROM SchedulerLease l WHERE l.name = :lease AND l.fencingToken = :fencingToken)")
+    int startDueEvents(@Param("now") LocalDateTime now, @Param("date") LocalDate date, @Param("time") LocalTime time,
+                       @Param("lease") String lease, @Param("fencingToken") long fencingToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.state = 'FINISHED', " +
+            "e.timeEnd = CASE WHEN e.dateEnd IS NULL THEN :time ELSE e.timeEnd END, " +
+            "e.dateEnd = CASE WHEN e.dateEnd IS NULL THEN :date ELSE e.dateEnd END " +
+            "WHERE e.state = 'ACTIVE' AND e.fixedEndAt <= :now " +
+            "AND EXISTS (SELECT l.name FROM SchedulerLease l WHERE l.name = :lease AND l.fencingToken = :fencingToken)")
+    int finishDueEvents(@Param("now") LocalDateTime now, @Param("date") LocalDate date, @Param("time") LocalTime time,
+                        @Param("lease") String lease, @Param("fencingToken") long fencingToken);
 }
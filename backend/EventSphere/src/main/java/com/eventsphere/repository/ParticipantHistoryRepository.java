@@ -2,8 +2,32 @@ package com.eventsphere.repository;
 
 import com.eventsphere.entity.event.ParticipantHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface ParticipantHistoryRepository extends JpaRepository<ParticipantHistory, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ParticipantHistory h WHERE h.participant.id = :participantId")
+    int deleteByParticipantId(@Param("participantId") Long participantId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ParticipantHistory h WHERE h.participant.id IN :participantIds")
+    int deleteByParticipantIdIn(@Param("participantIds") List<Long> participantIds);
+
+    // Registra a situação atual de cada participante do lote num único INSERT ... SELECT
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO ParticipantHistory (participant, status, changeTimestamp) " +
+           "SELECT p, p.currentStatus, :now FROM EventParticipant p WHERE p.id IN :participantIds")
+    int insertCurrentStatus(@Param("participantIds") List<Long> participantIds, @Param("now") LocalDateTime now);
 }
@@ -2,11 +2,17 @@ package com.eventsphere.repository;
 
 import com.eventsphere.entity.event.EventParticipant;
 import com.eventsphere.entity.event.ParticipantStatus;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -35,9 +41,84 @@ public interface ParticipantRepository extends JpaRepository<EventParticipant, L
     List<EventParticipant> findAllByEventIdList(@Param("eventId") Long eventId);
 
 
+    @Query("SELECT p.event.id, p.currentStatus, p.isCollaborator FROM EventParticipant p " +
+           "WHERE p.user.id = :userId AND p.event.id IN :eventIds")
+    List<Object[]> findMembershipsByUserIdAndEventIdIn(@Param("userId") Long userId, @Param("eventIds") List<Long> eventIds);
+
     @Query("SELECT p FROM EventParticipant p WHERE p.user.id = :userId")
     List<EventParticipant> findByUserId(@Param("userId") Long userId);
 
     EventParticipant findByQrCode(String qrCode);
 
+    // Consultas pontuais pela restrição única (evento, usuário), sem carregar os demais participantes;
+    // a linha lida fica travada até o fim da transação, como em lockMemberships
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id, p.currentStatus FROM EventParticipant p WHERE p.event.id = :eventId AND p.user.id = :userId")
+    List<Object[]> lockMembership(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(p) > 0 FROM EventParticipant p WHERE p.event.id = :eventId AND p.user.id = :userId AND p.isCollaborator = true")
+    boolean isCollaborator(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventParticipant p SET p.currentStatus = :status WHERE p.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") ParticipantStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventParticipant p SET p.isCollaborator = :collaborator WHERE p.event.id = :eventId AND p.user.id = :userId")
+    int updateCollaborator(@Param("eventId") Long eventId, @Param("userId") Long userId, @Param("collaborator") boolean collaborator);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventParticipant p WHERE p.id = :id")
+    int deleteMembership(@Param("id") Long id);
+
+    // Operações em lote: trava as linhas lidas até o fim da transação, para que as alterações partam da situação lida
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.user.id, p.id, p.currentStatus, p.isCollaborator FROM EventParticipant p " +
+           "WHERE p.event.id = :eventId AND p.user.id IN :userIds")
+    List<Object[]> lockMemberships(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventParticipant p SET p.currentStatus = :status WHERE p.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids, @Param("status") ParticipantStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventParticipant p SET p.isCollaborator = :collaborator WHERE p.id IN :ids")
+    int updateCollaboratorByIdIn(@Param("ids") List<Long> ids, @Param("collaborator") boolean collaborator);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventParticipant p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    // Lista de espera em ordem de chegada: o id do participante cresce com a inserção
+    @Query("SELECT p.event.id, p.id FROM EventParticipant p WHERE p.currentStatus = 'WAITLISTED'")
+    List<Object[]> findWaitlistEntries();
+
+    @Query("SELECT p.id FROM EventParticipant p WHERE p.event.id = :eventId AND p.currentStatus = 'WAITLISTED' ORDER BY p.id")
+    List<Long> findWaitlistedIds(@Param("eventId") Long eventId, Pageable pageable);
+
+    // Primeiro da fila com leitura bloqueante: enxerga a última versão confirmada, inclusive promoções feitas
+    // por outras transações, e impede que outra promoção o leve ao mesmo tempo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM EventParticipant p WHERE p.event.id = :eventId AND p.currentStatus = 'WAITLISTED' ORDER BY p.id")
+    List<Long> lockWaitlistHead(@Param("eventId") Long eventId, Pageable pageable);
+
+    // Só promove quem ainda está na espera, para que duas liberações simultâneas não promovam o mesmo participante
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventParticipant p SET p.currentStatus = com.eventsphere.entity.event.ParticipantStatus.INVITED " +
+           "WHERE p.id = :id AND p.currentStatus = com.eventsphere.entity.event.ParticipantStatus.WAITLISTED")
+    int promoteWaitlisted(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventParticipant p SET p.currentStatus = com.eventsphere.entity.event.ParticipantStatus.WAITLISTED " +
+           "WHERE p.id = :id AND p.currentStatus = com.eventsphere.entity.event.ParticipantStatus.INVITED")
+    int returnToWaitlist(@Param("id") Long id);
+
 }
@@ -0,0 +1,41 @@
+package com.eventsphere.repository;
+
+import com.eventsphere.entity.scheduler.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_lease (name, holder, expires_at, fencing_token) VALUES (:name, :holder, :expiresAt, 1)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("holder") String holder, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND l.holder = :holder AND l.fencingToken = :fencingToken AND l.expiresAt > :now")
+    int renew(@Param("name") String name, @Param("holder") String holder, @Param("fencingToken") long fencingToken,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.holder = :holder, l.expiresAt = :expiresAt, l.fencingToken = l.fencingToken + 1 " +
+            "WHERE l.name = :name AND l.expiresAt <= :now")
+    int takeOver(@Param("name") String name, @Param("holder") String holder,
+                 @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now " +
+            "WHERE l.name = :name AND l.holder = :holder AND l.fencingToken = :fencingToken")
+    int release(@Param("name") String name, @Param("holder") String holder, @Param("fencingToken") long fencingToken,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,44 @@
+package com.eventsphere.repository;
+
+import com.eventsphere.entity.event.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+
+    @Query("SELECT h FROM SeatHold h WHERE h.event.id = :eventId AND h.user.id = :userId")
+    SeatHold findByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(h) FROM SeatHold h WHERE h.event.id = :eventId AND h.expiresAt > :now AND h.user.id <> :userId")
+    long countActiveExcludingUser(@Param("eventId") Long eventId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT h.id, h.event.id, h.expiresAt FROM SeatHold h")
+    List<Object[]> findAllExpirations();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.event.id = :eventId AND h.user.id = :userId")
+    int deleteByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    // Varredura das reservas vencidas pelo índice de expiresAt, inclusive as criadas por outras réplicas
+    @Query("SELECT DISTINCT h.event.id FROM SeatHold h WHERE h.expiresAt <= :now")
+    List<Long> findEventIdsWithExpired(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,64 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Preenche fixedStartAt/fixedEndAt/longRunning dos eventos gravados antes dessas colunas existirem.
+ * Roda antes do carregamento da fila de transições, que depende delas.
+ */
+@Component
+public class EventScheduleBackfill {
+
+    private static final Logger logger = Logger.getLogger(EventScheduleBackfill.class.getName());
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillFixedInstants() {
+        int updated = 0;
+        List<Long> ids = eventRepository.findIdsWithoutFixedInstants(PageRequest.of(0, BATCH_SIZE));
+        while (!ids.isEmpty()) {
+            int batchUpdated = 0;
+            for (Object[] row : eventRepository.findFixedScheduleByIdIn(ids)) {
+                LocalDateTime fixedStartAt = combine((LocalDate) row[1], (LocalTime) row[2]);
+                LocalDateTime fixedEndAt = combine((LocalDate) row[3], (LocalTime) row[4]);
+                if (fixedStartAt == null || fixedEndAt == null) {
+                    logger.warning("Evento " + row[0] + " sem data/hora fixa completa; colunas derivadas não preenchidas");
+                    continue;
+                }
+                batchUpdated += eventRepository.updateFixedInstants((Long) row[0], fixedStartAt, fixedEndAt,
+                        Event.isLongRunning(fixedStartAt, fixedEndAt));
+            }
+            updated += batchUpdated;
+            if (ids.size() < BATCH_SIZE || batchUpdated == 0) {
+                break;
+            }
+            ids = eventRepository.findIdsWithoutFixedInstants(PageRequest.of(0, BATCH_SIZE));
+        }
+        if (updated > 0) {
+            logger.info("Datas fixas combinadas preenchidas para " + updated + " eventos");
+        }
+    }
+
+    private LocalDateTime combine(LocalDate date, LocalTime time) {
+        return date != null && time != null ? LocalDateTime.of(date, time) : null;
+    }
+}
@@ -0,0 +1,323 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.Acess;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.State;
+import com.eventsphere.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória sobre nome, local e descrição dos eventos, usado pela busca textual.
+ * É carregado do banco na subida, acompanha as mutações do EventService e é recarregado periodicamente
+ * para enxergar alterações feitas nas demais réplicas. Termos do nome pesam mais que os do local, e estes
+ * mais que os da descrição; cada termo é ponderado pela sua raridade no catálogo.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Logger logger = Logger.getLogger(EventSearchIndex.class.getName());
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float LOCALIZATION_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    // Termo que apenas começa com o texto buscado vale menos que o termo exato
+    private static final float PREFIX_FACTOR = 0.5f;
+    // Tokens de um caractere só casam com o termo exato, para não expandir para metade do vocabulário
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private record IndexedEvent(Long id, Acess acess, State state, LocalDateTime fixedEndAt, Map<String, Float> terms) {
+    }
+
+    /**
+     * Estrutura do índice, trocada inteira a cada recarga. Cada evento ocupa uma posição fixa (slot) e as
+     * listas de ocorrências guardam slots e pesos em arrays primitivos, para que termos muito comuns sejam
+     * percorridos sem criar objetos por ocorrência.
+     */
+    private static class Segment {
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+        private final List<IndexedEvent> events = new ArrayList<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+        private void add(IndexedEvent event) {
+            remove(event.id());
+            Integer slot = freeSlots.poll();
+            if (slot == null) {
+                slot = events.size();
+                events.add(event);
+            } else {
+                events.set(slot, event);
+            }
+            slotsById.put(event.id(), slot);
+            for (Map.Entry<String, Float> term : event.terms().entrySet()) {
+                postings.computeIfAbsent(term.getKey(), k -> new Postings()).add(slot, term.getValue());
+            }
+        }
+
+        private void remove(Long eventId) {
+            Integer slot = slotsById.remove(eventId);
+            if (slot == null) {
+                return;
+            }
+            IndexedEvent previous = events.set(slot, null);
+            for (String term : previous.terms().keySet()) {
+                Postings termPostings = postings.get(term);
+                if (termPostings != null && termPostings.remove(slot) && termPostings.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            freeSlots.push(slot);
+        }
+    }
+
+    private static class Postings {
+        private int[] slots = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int slot, float weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        private boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment segment = new Segment();
+
+    // Versão mais recente dos eventos alterados durante uma recarga (null = removido), reaplicada ao final
+    private Map<Long, IndexedEvent> changedDuringReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<Long, IndexedEvent> changes = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Segment loaded = new Segment();
+            for (Object[] row : eventRepository.findSearchableFields()) {
+                loaded.add(new IndexedEvent((Long) row[0], (Acess) row[4], (State) row[5],
+                        (LocalDateTime) row[6], terms((String) row[1], (String) row[2], (String) row[3])));
+            }
+            lock.writeLock().lock();
+            try {
+                for (Map.Entry<Long, IndexedEvent> change : changes.entrySet()) {
+                    loaded.remove(change.getKey());
+                    if (change.getValue() != null) {
+                        loaded.add(change.getValue());
+                    }
+                }
+                segment = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Índice de busca carregado: " + loaded.slotsById.size() + " eventos, " + loaded.postings.size() + " termos");
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${event.search.resync-ms:300000}", initialDelayString = "${event.search.resync-ms:300000}")
+    public void resync() {
+        reload();
+    }
+
+    public void track(Event event) {
+        if (event == null || event.getId() == null) {
+            return;
+        }
+        put(event.getId(), new IndexedEvent(event.getId(), event.getAcess(), event.getState(), event.getFixedEndAt(),
+                terms(event.getName(), event.getLocalization(), event.getDescription())));
+    }
+
+    public void forget(Long eventId) {
+        put(eventId, null);
+    }
+
+    /**
+     * Ids dos eventos que contêm todos os tokens da consulta, por termo exato ou prefixo, em ordem
+     * decrescente de relevância. Só entram eventos públicos ainda não encerrados e eventos dos quais
+     * o usuário é membro.
+     */
+    public List<Long> search(String query, Set<Long> memberEventIds, LocalDateTime now, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            float[] scores = null;
+            for (String token : tokens) {
+                float[] tokenScores = match(token);
+                if (tokenScores == null) {
+                    return new ArrayList<>();
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    for (int slot = 0; slot < scores.length; slot++) {
+                        scores[slot] = scores[slot] > 0 && tokenScores[slot] > 0 ? scores[slot] + tokenScores[slot] : 0;
+                    }
+                }
+            }
+            return top(scores, memberEventIds, now, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long eventId, IndexedEvent event) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(eventId);
+            if (event != null) {
+                segment.add(event);
+            }
+            if (changedDuringReload != null) {
+                changedDuringReload.put(eventId, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Maior pontuação de cada evento entre os termos que casam com o token; null se nenhum casar
+    private float[] match(String token) {
+        SortedMap<String, Postings> matched;
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            matched = segment.postings.subMap(token, token + Character.MAX_VALUE);
+        } else {
+            matched = segment.postings.subMap(token, token + Character.MIN_VALUE);
+        }
+        if (matched.isEmpty()) {
+            return null;
+        }
+        float[] scores = new float[segment.events.size()];
+        for (Map.Entry<String, Postings> term : matched.entrySet()) {
+            Postings termPostings = term.getValue();
+            float idf = (float) Math.log(1 + (double) segment.slotsById.size() / termPostings.size);
+            float factor = term.getKey().equals(token) ? idf : idf * PREFIX_FACTOR;
+            for (int i = 0; i < termPostings.size; i++) {
+                float score = termPostings.weights[i] * factor;
+                int slot = termPostings.slots[i];
+                if (score > scores[slot]) {
+                    scores[slot] = score;
+                }
+            }
+        }
+        return scores;
+    }
+
+    private boolean isVisible(IndexedEvent event, Set<Long> memberEventIds, LocalDateTime now) {
+        if (memberEventIds.contains(event.id())) {
+            return true;
+        }
+        // O job de término pode não ter rodado ainda; o horário fixo de fim já basta para esconder o evento
+        return event.acess() == Acess.PUBLIC
+                && (event.state() == State.CREATED || event.state() == State.ACTIVE)
+                && (event.fixedEndAt() == null || event.fixedEndAt().isAfter(now));
+    }
+
+    // Empates ficam com o evento mais recente (maior id)
+    private List<Long> top(float[] scores, Set<Long> memberEventIds, LocalDateTime now, int limit) {
+        List<IndexedEvent> events = segment.events;
+        Comparator<Integer> byRelevance = (a, b) -> {
+            int byScore = Float.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : events.get(a).id().compareTo(events.get(b).id());
+        };
+        PriorityQueue<Integer> best = new PriorityQueue<>(byRelevance);
+        for (int slot = 0; slot < scores.length; slot++) {
+            if (scores[slot] <= 0) {
+                continue;
+            }
+            if (best.size() == limit && byRelevance.compare(slot, best.peek()) <= 0) {
+                continue;
+            }
+            if (!isVisible(events.get(slot), memberEventIds, now)) {
+                continue;
+            }
+            best.add(slot);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(events.get(best.poll()).id());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private static Map<String, Float> terms(String name, String localization, String description) {
+        Map<String, Float> terms = new HashMap<>();
+        for (String token : tokenize(name)) {
+            terms.merge(token, NAME_WEIGHT, Float::sum);
+        }
+        for (String token : tokenize(localization)) {
+            terms.merge(token, LOCALIZATION_WEIGHT, Float::sum);
+        }
+        for (String token : tokenize(description)) {
+            terms.merge(token, DESCRIPTION_WEIGHT, Float::sum);
+        }
+        return terms;
+    }
+
+    // Minúsculas e sem acentos, para que "Sao" encontre "São"
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,7 +1,12 @@
 package com.eventsphere.service;
 
 import com.eventsphere.dto.EventDTO;
+import com.eventsphere.dto.EventFacetsDTO;
+import com.eventsphere.dto.EventPageDTO;
+import com.eventsphere.dto.EventSummaryDTO;
+import com.eventsphere.dto.InvitePreviewDTO;
 import com.eventsphere.dto.ParticipantDTO;
+import com.eventsphere.dto.PublicEventFilter;
 import com.eventsphere.entity.event.Acess;
 import com.eventsphere.entity.event.Event;
 import com.eventsphere.entity.event.EventParticipant;
@@ -10,22 +15,32 @@ import com.eventsphere.entity.event.ParticipantStatus;
 import com.eventsphere.entity.event.State;
 import com.eventsphere.entity.user.User;
 import com.eventsphere.mapper.EventMapper;
+import com.eventsphere.mapper.EventMembership;
 import com.eventsphere.mapper.ParticipantMapper;
 import com.eventsphere.repository.EventRepository;
 import com.eventsphere.repository.ParticipantRepository;
 import com.eventsphere.repository.UserRepository;
 import com.eventsphere.utils.EventCodeGenerator;        
+import com.eventsphere.utils.EventCursor;
+import com.eventsphere.utils.SingleFlight;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
@@ -49,7 +64,54 @@ public class EventService {
     private ParticipantMapper participantMapper;
 
     @Autowired
-    private ImageService imageService;    public Event registerEvent(EventDTO eventDTO) {
+    private ImageService imageService;
+
+    @Autowired
+    private EventTransitionScheduler transitionScheduler;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private EventTransitionMetrics transitionMetrics;
+
+    @Autowired
+    private PublicFeedCache publicFeedCache;
+
+    @Autowired
+    private EventSearchIndex searchIndex;
+
+    @Autowired
+    private LocalizationIndex localizationIndex;
+
+    @Autowired
+    private ParticipantCounters participantCounters;
+
+    @Autowired
+    private EventWaitlist eventWaitlist;
+
+    @Autowired
+    private SeatHolds seatHolds;
+
+    @Value("${event.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${event.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${event.calendar.max-days:366}")
+    private int maxCalendarDays;
+
+    private static final List<State> LIVE_STATES = Arrays.asList(State.CREATED, State.ACTIVE);
+    private static final List<State> ALL_STATES = Arrays.asList(State.values());
+    private static final int TRANSITION_BATCH_SIZE = 500;
+    // Eventos públicos no calendário incluem os já encerrados; só os cancelados ficam de fora
+    private static final List<State> CALENDAR_PUBLIC_STATES = Arrays.asList(State.CREATED, State.ACTIVE, State.FINISHED);
+
+    // Leituras simultâneas do mesmo evento compartilham uma única consulta e mapeamento
+    private final SingleFlight<Long, EventDTO> detailLoads = new SingleFlight<>();
+
+    public Event registerEvent(EventDTO eventDTO) {
         eventDTO.setState(State.CREATED);
         User owner = null;
         if (eventDTO.getOwnerId() != null) {
@@ -91,9 +153,15 @@ public class EventService {
         
         
         participantRepository.save(ownerParticipant);
+        participantCounters.joined(event.getId(), ParticipantStatus.CONFIRMED);
         
         
-        return eventRepository.save(event);
+        event = eventRepository.save(event);
+        transitionScheduler.track(event);
+        searchIndex.track(event);
+        localizationIndex.track(event);
+        publicFeedCache.evictIfPublic(event);
+        return event;
     }
     
     public void checkPermission(Long eventID, Long userId) {
@@ -135,6 +203,7 @@ public class EventService {
             throw new IllegalArgumentException("Evento não encontrado!");
         }
         Event event = optionalEvent.get();
+        boolean wasPublic = event.getAcess() == Acess.PUBLIC;
         event.setName(eventDTO.getName());
         event.setDateFixedStart(eventDTO.getDateFixedStart());
         event.setDateFixedEnd(eventDTO.getDateFixedEnd());
@@ -151,7 +220,20 @@ public class EventService {
         if (eventDTO.getPhoto() != null && !eventDTO.getPhoto().isEmpty()) {
             event.setPhoto(eventDTO.getPhoto());
         }
-        return eventRepository.save(event);
+        event = eventRepository.save(event);
+        // Um limite maior de participantes abre vagas para a lista de espera
+        if (event.getState() == State.CREATED) {
+            eventWaitlist.promote(eventID);
+        }
+        transitionScheduler.track(event);
+        searchIndex.track(event);
+        localizationIndex.track(event);
+        if (wasPublic) {
+            publicFeedCache.invalidateAll();
+        } else {
+            publicFeedCache.evictIfPublic(event);
+        }
+        return event;
     }
 
     public Event getEvent(Long eventID) {
@@ -162,56 +244,98 @@ public class EventService {
     public Event deleteEvent(Long eventID) {
         Event event = getEvent(eventID);
         eventRepository.delete(event);
+        transitionScheduler.forget(eventID);
+        searchIndex.forget(eventID);
+        localizationIndex.forget(eventID);
+        eventWaitlist.forgetEvent(eventID);
+        publicFeedCache.evictIfPublic(event);
         return event;
     }
     
-    @Scheduled(fixedRate = 60000) 
+    // Eventos vencidos da fila de transições, em lotes de até TRANSITION_BATCH_SIZE ids por UPDATE
+    @Scheduled(fixedRate = 1000)
+    @Transactional
     public void autoStartEvents() {
-        List<Event> events = eventRepository.findAll();
+        if (!leaseService.isLeader()) {
+            return;
+        }
         LocalDateTime now = LocalDateTime.now(java.time.ZoneId.of("America/Sao_Paulo"));
-        
-        logger.info("Auto-starting events check - Current time: " + now + ", events to check: " + events.size());
-        
-        for (Event event : events) {
-            if (event.getState() == State.CREATED) {
-                LocalDateTime fixedStart = LocalDateTime.of(event.getDateFixedStart(), event.getTimeFixedStart());
-                
-                logger.fine("Event: " + event.getName() + " - Scheduled: " + fixedStart + " - Current: " + now + " - Should start: " + (now.isAfter(fixedStart) || now.isEqual(fixedStart)));
-                
-                if (now.isAfter(fixedStart) || now.isEqual(fixedStart)) {
-                    logger.info("Auto-starting event: " + event.getName());
-                    event.setState(State.ACTIVE);
-                    if (event.getDateStart() == null) {
-                        event.setDateStart(now.toLocalDate());
-                        event.setTimeStart(now.toLocalTime());
-                    }
-                    eventRepository.save(event);
-                }
-            }
+        long runStart = System.nanoTime();
+        List<EventTransitionScheduler.Transition> due = transitionScheduler.pollDueStarts(now);
+        if (due.isEmpty()) {
+            return;
         }
+        int started = transitionInBatches(EventTransitionMetrics.START_JOB, due, now, runStart,
+                ids -> eventRepository.startEventsByIdIn(ids, now, now.toLocalDate(), now.toLocalTime(),
+                        SchedulerLeaseService.EVENT_TRANSITIONS_LEASE, leaseService.getFencingToken()));
+        logger.info("Auto-starting events - Current time: " + now + ", events due: " + due.size() + ", events started: " + started);
     }
     
-    @Scheduled(fixedRate = 60000) 
+    @Scheduled(fixedRate = 1000)
+    @Transactional
     public void autoFinishEvents() {
-        List<Event> events = eventRepository.findAll();
+        if (!leaseService.isLeader()) {
+            return;
+        }
         LocalDateTime now = LocalDateTime.now(java.time.ZoneId.of("America/Sao_Paulo"));
-        
-        for (Event event : events) {
-            if (event.getState() == State.ACTIVE) {
-                LocalDateTime fixedEnd = LocalDateTime.of(event.getDateFixedEnd(), event.getTimeFixedEnd());
-                if (now.isAfter(fixedEnd) || now.isEqual(fixedEnd)) {
-                    event.setState(State.FINISHED);
-                    if (event.getDateEnd() == null) {
-                        event.setDateEnd(now.toLocalDate());
-                        event.setTimeEnd(now.toLocalTime());
-                    }
-                    eventRepository.save(event);
-                }
-            }
+        long runStart = System.nanoTime();
+        List<EventTransitionScheduler.Transition> due = transitionScheduler.pollDueFinishes(now);
+        if (due.isEmpty()) {
+            return;
         }
+        int finished = transitionInBatches(EventTransitionMetrics.FINISH_JOB, due, now, runStart,
+                ids -> eventRepository.finishEventsByIdIn(ids, now, now.toLocalDate(), now.toLocalTime(),
+                        SchedulerLeaseService.EVENT_TRANSITIONS_LEASE, leaseService.getFencingToken()));
+        logger.info("Auto-finishing events - Current time: " + now + ", events due: " + due.size() + ", events finished: " + finished);
     }
 
+    /**
+     * Rede de segurança dos jobs de transição: a fila da líder não vê eventos criados ou editados em outras
+     * réplicas depois que ela assumiu o lease, nem os que saíram dela numa transação desfeita. Estes mudam
+     * de estado aqui, com até scheduler.transitions.sweep-ms de atraso, num UPDATE para cada sentido.
+     */
+    @Scheduled(fixedRateString = "${scheduler.transitions.sweep-ms:60000}")
+    @Transactional
+    public void sweepDueTransitions() {
+        if (!leaseService.isLeader()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(java.time.ZoneId.of("America/Sao_Paulo"));
+        long runStart = System.nanoTime();
+        int started = eventRepository.startDueEvents(now, now.toLocalDate(), now.toLocalTime(),
+                SchedulerLeaseService.EVENT_TRANSITIONS_LEASE, leaseService.getFencingToken());
+        transitionMetrics.recordRun(EventTransitionMetrics.START_JOB, started, started, List.of(), now, System.nanoTime() - runStart);
+        runStart = System.nanoTime();
+        int finished = eventRepository.finishDueEvents(now, now.toLocalDate(), now.toLocalTime(),
+                SchedulerLeaseService.EVENT_TRANSITIONS_LEASE, leaseService.getFencingToken());
+        transitionMetrics.recordRun(EventTransitionMetrics.FINISH_JOB, finished, finished, List.of(), now, System.nanoTime() - runStart);
+        if (started + finished == 0) {
+            return;
+        }
+        publicFeedCache.invalidateAll();
+        logger.info("Sweeping missed transitions - Current time: " + now + ", events started: " + started + ", events finished: " + finished);
+    }
 
+    // O atraso de cada evento só é registrado quando o lote inteiro mudou de estado; num lote parcial não se
+    // sabe quais ids o UPDATE alterou
+    private int transitionInBatches(String job, List<EventTransitionScheduler.Transition> due, LocalDateTime now,
+                                    long runStart, ToIntFunction<List<Long>> update) {
+        int transitioned = 0;
+        List<LocalDateTime> dueTimes = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += TRANSITION_BATCH_SIZE) {
+            List<EventTransitionScheduler.Transition> batch = due.subList(from, Math.min(from + TRANSITION_BATCH_SIZE, due.size()));
+            int updated = update.applyAsInt(batch.stream().map(EventTransitionScheduler.Transition::eventId).toList());
+            transitioned += updated;
+            if (updated == batch.size()) {
+                batch.forEach(transition -> dueTimes.add(transition.dueAt()));
+            }
+        }
+        transitionMetrics.recordRun(job, due.size(), transitioned, dueTimes, now, System.nanoTime() - runStart);
+        if (transitioned > 0) {
+            publicFeedCache.invalidateAll();
+        }
+        return transitioned;
+    }
 
     public Event startEvent(Long eventID, Long userId) {
         checkPermission(eventID, userId);
@@ -223,11 +347,15 @@ public class EventService {
         event.setDateStart(LocalDate.now());
         event.setTimeStart(LocalTime.now());
         Event savedEvent = eventRepository.save(event);
+        transitionScheduler.track(savedEvent);
+        searchIndex.track(savedEvent);
+        publicFeedCache.evictIfPublic(savedEvent);
         
         
         try {
             EventParticipant ownerParticipant = participantRepository.findByEventIdAndUserId(eventID, event.getOwner().getId());
             if (ownerParticipant != null && ownerParticipant.getCurrentStatus() != ParticipantStatus.PRESENT) {
+                ParticipantStatus previousStatus = ownerParticipant.getCurrentStatus();
                 
                 ParticipantHistory history = new ParticipantHistory();
                 history.setParticipant(ownerParticipant);
@@ -242,6 +370,7 @@ public class EventService {
                 
                 ownerParticipant.setCurrentStatus(ParticipantStatus.PRESENT);
                 participantRepository.save(ownerParticipant);
+                participantCounters.changed(eventID, previousStatus, ParticipantStatus.PRESENT);
             }
         } catch (Exception e) {
             
@@ -260,7 +389,11 @@ public class EventService {
         event.setState(State.FINISHED);
         event.setDateEnd(LocalDate.now());
         event.setTimeEnd(LocalTime.now());
-        return eventRepository.save(event);
+        transitionScheduler.forget(eventID);
+        Event savedEvent = eventRepository.save(event);
+        searchIndex.track(savedEvent);
+        publicFeedCache.evictIfPublic(savedEvent);
+        return savedEvent;
     }    public Event cancelEvent(Long eventID, Long userId) {
         checkPermission(eventID, userId);
         Event event = getEvent(eventID);
@@ -268,7 +401,11 @@ public class EventService {
             throw new IllegalStateException("Evento só pode ser cancelado se estiver nos estados CREATED ou ACTIVE");
         }
         event.setState(State.CANCELED);
-        return eventRepository.save(event);
+        transitionScheduler.forget(eventID);
+        Event savedEvent = eventRepository.save(event);
+        searchIndex.track(savedEvent);
+        publicFeedCache.evictIfPublic(savedEvent);
+        return savedEvent;
     }
       public void authorizeEditEvent(Long eventID, Long userId) {
         Event event = eventRepository.findById(eventID)
@@ -330,7 +467,7 @@ public class EventService {
     }
 
     public EventDTO validateInviteToken(String inviteToken) {
-        Event event = eventRepository.findByInviteToken(inviteToken)
+        Event event = eventRepository.findDetailedByInviteToken(inviteToken)
                 .orElseThrow(() -> new IllegalArgumentException("Token de convite inválido ou expirado"));
         
         
@@ -341,6 +478,40 @@ public class EventService {
         return eventMapper.toDTO(event);
     }
 
+    /**
+     * Evento do convite para a página de convite, guardando uma vaga para o usuário enquanto ele
+     * decide (ver SeatHolds).
+     */
+    public EventDTO openInvite(String inviteToken, Long userId) {
+        Event event = eventRepository.findDetailedByInviteToken(inviteToken)
+                .orElseThrow(() -> new IllegalArgumentException("Token de convite inválido ou expirado"));
+        if (event.getState() == State.CANCELED) {
+            throw new IllegalArgumentException("Este evento foi cancelado");
+        }
+        EventDTO eventDTO = eventMapper.toDTO(event);
+        try {
+            eventDTO.setSeatHeldUntil(seatHolds.hold(event, userId));
+        } catch (DataIntegrityViolationException e) {
+            // A mesma página aberta duas vezes ao mesmo tempo: a outra requisição já guardou a vaga
+            eventDTO.setSeatHeldUntil(seatHolds.hold(event, userId));
+        }
+        return eventDTO;
+    }
+
+    /**
+     * Prévia do convite para quem ainda não entrou no sistema. Não guarda vaga: a reserva só é feita
+     * quando a pessoa volta ao convite já logada.
+     */
+    @Transactional(readOnly = true)
+    public InvitePreviewDTO previewInvite(String inviteToken) {
+        Event event = eventRepository.findWithOwnerByInviteToken(inviteToken)
+                .orElseThrow(() -> new IllegalArgumentException("Token de convite inválido ou expirado"));
+        if (event.getState() == State.CANCELED) {
+            throw new IllegalArgumentException("Este evento foi cancelado");
+        }
+        return eventMapper.toInvitePreview(event);
+    }
+
     public Event validateInviteTokenAndGetEvent(String inviteToken) {
         Event event = eventRepository.findByInviteToken(inviteToken)
                 .orElseThrow(() -> new IllegalArgumentException("Token de convite inválido ou expirado"));
@@ -353,7 +524,11 @@ public class EventService {
         return event;
     }
 
-    
+    /**
+     * Colaborador que ainda não participa entra como convidado e ocupa uma vaga como qualquer participante;
+     * com o evento lotado, a inclusão é recusada.
+     */
+    @Transactional
     public Event addCollaborator(Long eventID, Long userID, Long requesterId) {
         checkPermission(eventID, requesterId);
         Event event = eventRepository.findById(eventID)
@@ -369,13 +544,20 @@ public class EventService {
         }
         event.getCollaborators().add(user);
         EventParticipant participant = participantRepository.findByEventIdAndUserId(eventID, userID);
-        if (participant == null) {
+        boolean newParticipant = participant == null;
+        if (newParticipant) {
             participant = new EventParticipant();
             participant.setEvent(event);
             participant.setUser(user);
             participant.setCurrentStatus(com.eventsphere.entity.event.ParticipantStatus.INVITED);
         }
         participant.setIsCollaborator(true);
+        if (newParticipant) {
+            if (!participantCounters.reserveSeat(eventID, participant.getCurrentStatus(), userID)) {
+                throw new IllegalStateException("O evento está lotado; libere uma vaga antes de adicionar o colaborador");
+            }
+            seatHolds.release(eventID, userID);
+        }
         participantRepository.save(participant);
         return eventRepository.save(event);
     }
@@ -405,124 +587,243 @@ public class EventService {
     }   
 
     public EventDTO getEventWithUserInfo(Long eventID, Long userId) {
-        Event event = getEvent(eventID);
-        return eventMapper.toDTOWithUserContext(event, userId);
+        EventDTO shared = detailLoads.execute(eventID, () -> eventMapper.toDTO(eventRepository.findDetailedById(eventID)
+                .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado!"))));
+        return eventMapper.applyUserContext(new EventDTO(shared), userId);
     }
 
     public List<EventDTO> getMyEventsWithUserInfo(Long userId, String state, String sort) {
-        logger.info("Buscando eventos para usuário: " + userId + ", state: " + state + ", sort: " + sort);
-        
-        List<Event> ownedEvents = eventRepository.findByOwnerId(userId);
-        List<Event> participantEvents = eventRepository.findEventsByParticipantUserId(userId);
-        
-        logger.info("Eventos próprios encontrados: " + ownedEvents.size());
-        logger.info("Eventos como participante encontrados: " + participantEvents.size());
-        
-        Set<Event> allEvents = new HashSet<>();
-        allEvents.addAll(ownedEvents);
-        allEvents.addAll(participantEvents);
-        
-        List<Event> filteredEvents = new ArrayList<>(allEvents);
-        logger.info("Total de eventos únicos: " + filteredEvents.size());
-        
-        
+        List<State> states = Arrays.asList(State.values());
         if (state != null && !state.isEmpty() && !"all".equalsIgnoreCase(state)) {
             try {
-                State stateEnum = State.valueOf(state.toUpperCase());
-                logger.info("Aplicando filtro de estado: " + stateEnum);
-                
-                filteredEvents = filteredEvents.stream()
-                    .filter(event -> {
-                        boolean matches = event.getState() == stateEnum;
-                        logger.info("Evento " + event.getId() + " (" + event.getName() + ") - Estado: " + event.getState() + ", Corresponde ao filtro: " + matches);
-                        return matches;
-                    })
-                    .collect(Collectors.toList());
-                
-                logger.info("Eventos após filtro de estado: " + filteredEvents.size());
+                states = List.of(State.valueOf(state.toUpperCase()));
             } catch (IllegalArgumentException e) {
                 logger.warning("Invalid state parameter: " + state);
             }
         }
-        
-        
-        if (sort != null && !sort.isEmpty()) {
-            logger.info("Aplicando ordenação: " + sort);
-            if ("date_asc".equalsIgnoreCase(sort)) {
-                filteredEvents.sort(Comparator.comparing(event -> 
-                    LocalDateTime.of(event.getDateFixedStart(), event.getTimeFixedStart())));
-            } else if ("date_desc".equalsIgnoreCase(sort)) {
-                filteredEvents.sort((event1, event2) -> 
-                    LocalDateTime.of(event2.getDateFixedStart(), event2.getTimeFixedStart())
-                        .compareTo(LocalDateTime.of(event1.getDateFixedStart(), event1.getTimeFixedStart())));
-            }
+        List<Event> events = eventRepository.findByMember(userId, states, fixedStartSort(sort));
+        List<Long> eventIds = events.stream().map(Event::getId).collect(Collectors.toList());
+        return eventMapper.toDTOListWithUserContext(events, userId, findMemberships(userId, eventIds));
+    }
+
+    private Sort fixedStartSort(String sort) {
+        if ("date_asc".equalsIgnoreCase(sort)) {
+            return Sort.by(Sort.Direction.ASC, "fixedStartAt", "id");
         }
-        
-        logger.info("Retornando " + filteredEvents.size() + " eventos após filtragem e ordenação");
-        return eventMapper.toDTOListWithUserContext(filteredEvents, userId);
+        if ("date_desc".equalsIgnoreCase(sort)) {
+            return Sort.by(Sort.Direction.DESC, "fixedStartAt", "id");
+        }
+        return Sort.unsorted();
     }
     
-    public List<EventDTO> getAllMyEventsWithUserInfo(Long userId) {
-        
-        List<Event> ownedEvents = eventRepository.findByOwnerId(userId);
-        List<Event> participantEvents = eventRepository.findEventsByParticipantUserId(userId);
-        Set<Event> allEvents = new HashSet<>();
-        allEvents.addAll(ownedEvents);
-        allEvents.addAll(participantEvents);
-        
-        
-        List<Event> filteredEvents = allEvents.stream().collect(Collectors.toList());
-
-        return eventMapper.toDTOListWithUserContext(filteredEvents, userId);
+    public EventPageDTO getAllMyEventsWithUserInfo(Long userId, String cursor, Integer limit) {
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        List<EventSummaryDTO> events = eventRepository.findPageByMember(userId, Arrays.asList(State.values()),
+                after.getFixedStartAt(), after.getId(), PageRequest.of(0, size + 1));
+        return toPage(events, size, userId);
     }
     
-    public List<EventDTO> getPublicEventsWithUserInfo(Long userId, String state, String sort) {
-        List<Event> events = eventRepository.findByAcess(Acess.PUBLIC);
-        if (events.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        
-        events = events.stream()
-            .filter(event -> event.getState() != State.FINISHED && event.getState() != State.CANCELED)
-            .collect(Collectors.toList());
-        
-        
-        if (state != null && !state.isEmpty()) {
-            try {
-                State stateEnum = State.valueOf(state.toUpperCase());
-                events = events.stream()
-                    .filter(event -> event.getState() == stateEnum)
-                    .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                logger.warning("Invalid state parameter: " + state);
+    /**
+     * Catálogo público: apenas eventos CREATED/ACTIVE, restritos pelos filtros de PublicEventFilter, em ordem
+     * de início crescente (padrão) ou decrescente. Filtro e ordenação rodam no banco sobre o índice
+     * (acess, state, fixedStartAt), de modo que eventos encerrados ou cancelados nunca são lidos.
+     * A página vem do PublicFeedCache; os vínculos do usuário são aplicados sobre uma cópia.
+     */
+    public EventPageDTO getPublicEventsWithUserInfo(Long userId, PublicEventFilter filter, String sort, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        State state = parseState(filter.getState());
+        List<State> states = LIVE_STATES;
+        if (state != null) {
+            if (!LIVE_STATES.contains(state)) {
+                return new EventPageDTO(new ArrayList<>(), null);
             }
+            states = List.of(state);
         }
-        
-        
-        if (sort != null && !sort.isEmpty()) {
-            if ("date_asc".equalsIgnoreCase(sort)) {
-                events.sort(Comparator.comparing(event -> 
-                    LocalDateTime.of(event.getDateFixedStart(), event.getTimeFixedStart())));
-            } else if ("date_desc".equalsIgnoreCase(sort)) {
-                events.sort((event1, event2) -> 
-                    LocalDateTime.of(event2.getDateFixedStart(), event2.getTimeFixedStart())
-                        .compareTo(LocalDateTime.of(event1.getDateFixedStart(), event1.getTimeFixedStart())));
+        EventPageDTO shared = sharedPublicPage(states, filter, "date_desc".equalsIgnoreCase(sort), cursor, size);
+        return withUserContext(new EventPageDTO(copyOf(shared.getEvents()), shared.getNextCursor()), userId);
+    }
+
+    /**
+     * Contagens por estado, classificação e disponibilidade de vagas do catálogo público, calculadas
+     * a partir de uma única consulta agregada. A janela de datas restringe todas as facetas.
+     */
+    public EventFacetsDTO getPublicEventFacets(PublicEventFilter filter) {
+        State state = parseState(filter.getState());
+        Integer classification = filter.getClassification();
+        Boolean hasFreeSeats = filter.getHasFreeSeats();
+        EventFacetsDTO facets = new EventFacetsDTO();
+        for (State live : LIVE_STATES) {
+            facets.getStates().put(live, 0L);
+        }
+        for (Object[] row : eventRepository.countFacets(Acess.PUBLIC, LIVE_STATES, filter.getStartsFrom(), filter.getStartsBefore())) {
+            State rowState = (State) row[0];
+            Integer rowClassification = (Integer) row[1];
+            long total = ((Number) row[2]).longValue();
+            long withFreeSeats = row[3] == null ? 0 : ((Number) row[3]).longValue();
+            long matching = hasFreeSeats == null ? total : hasFreeSeats ? withFreeSeats : total - withFreeSeats;
+            boolean stateMatches = state == null || state == rowState;
+            boolean classificationMatches = classification == null || classification.equals(rowClassification);
+            if (classificationMatches) {
+                facets.getStates().merge(rowState, matching, Long::sum);
+            }
+            if (stateMatches) {
+                facets.getClassifications().merge(rowClassification, matching, Long::sum);
+            }
+            if (stateMatches && classificationMatches) {
+                facets.setWithFreeSeats(facets.getWithFreeSeats() + withFreeSeats);
+                facets.setWithoutFreeSeats(facets.getWithoutFreeSeats() + total - withFreeSeats);
+                facets.setTotal(facets.getTotal() + matching);
             }
         }
-        
-        return eventMapper.toDTOListWithUserContext(events, userId);
+        return facets;
+    }
+
+    private State parseState(String state) {
+        if (state == null || state.isEmpty()) {
+            return null;
+        }
+        try {
+            return State.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warning("Invalid state parameter: " + state);
+            return null;
+        }
+    }
+
+    // Página do catálogo compartilhada entre usuários; quem for alterá-la deve trabalhar sobre copyOf
+    private EventPageDTO sharedPublicPage(List<State> states, PublicEventFilter filter, boolean descending, String cursor, int size) {
+        return publicFeedCache.get(states, filter, descending, cursor, size,
+                () -> loadPublicPage(states, filter, descending, cursor, size));
+    }
+
+    private List<EventSummaryDTO> copyOf(List<EventSummaryDTO> events) {
+        return events.stream().map(EventSummaryDTO::new).collect(Collectors.toList());
+    }
+
+    private EventPageDTO loadPublicPage(List<State> states, PublicEventFilter filter, boolean descending, String cursor, int size) {
+        List<EventSummaryDTO> events;
+        if (descending) {
+            EventCursor before = EventCursor.decodeDescending(cursor);
+            events = eventRepository.findPageByAcessDesc(Acess.PUBLIC, states, filter.getClassification(),
+                    filter.getStartsFrom(), filter.getStartsBefore(), filter.getHasFreeSeats(),
+                    before.getFixedStartAt(), before.getId(), PageRequest.of(0, size + 1));
+        } else {
+            EventCursor after = EventCursor.decode(cursor);
+            events = eventRepository.findPageByAcess(Acess.PUBLIC, states, filter.getClassification(),
+                    filter.getStartsFrom(), filter.getStartsBefore(), filter.getHasFreeSeats(),
+                    after.getFixedStartAt(), after.getId(), PageRequest.of(0, size + 1));
+        }
+        return slicePage(events, size);
+    }
+
+    /**
+     * Busca textual em nome, local e descrição pelo EventSearchIndex, em ordem de relevância.
+     * Devolve eventos públicos ainda não encerrados e, de qualquer acesso ou estado, os eventos do usuário.
+     */
+    public List<EventSummaryDTO> searchEvents(Long userId, String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Informe o termo de busca");
+        }
+        int size = pageSize(limit);
+        Set<Long> memberEventIds = userId == null ? Set.of() : new HashSet<>(eventRepository.findMemberEventIds(userId));
+        List<Long> eventIds = searchIndex.search(query, memberEventIds, LocalDateTime.now(ZoneId.of("America/Sao_Paulo")), size);
+        if (eventIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, EventSummaryDTO> byId = eventRepository.findSummariesByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventSummaryDTO::getId, event -> event));
+        List<EventSummaryDTO> events = eventIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return withUserContext(new EventPageDTO(events, null), userId).getEvents();
+    }
+
+    public List<String> suggestLocalizations(String prefix, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero");
+        }
+        return localizationIndex.suggest(prefix, limit == null ? LocalizationIndex.MAX_SUGGESTIONS
+                : Math.min(limit, LocalizationIndex.MAX_SUGGESTIONS));
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * As consultas keyset trazem uma linha a mais que o tamanho da página; se ela vier,
+     * existe próxima página e o cursor aponta para o último evento devolvido.
+     */
+    private EventPageDTO toPage(List<EventSummaryDTO> events, int size, Long userId) {
+        return withUserContext(slicePage(events, size), userId);
+    }
+
+    private EventPageDTO slicePage(List<EventSummaryDTO> events, int size) {
+        String nextCursor = null;
+        if (events.size() > size) {
+            events = events.subList(0, size);
+            EventSummaryDTO last = events.get(size - 1);
+            nextCursor = new EventCursor(last.getFixedStartAt(), last.getId()).encode();
+        }
+        return new EventPageDTO(events, nextCursor);
+    }
+
+    private EventPageDTO withUserContext(EventPageDTO page, Long userId) {
+        List<Long> eventIds = page.getEvents().stream().map(EventSummaryDTO::getId).collect(Collectors.toList());
+        eventMapper.applyUserContext(page.getEvents(), userId, findMemberships(userId, eventIds));
+        return page;
+    }
+
+    /**
+     * Vínculos do usuário com todos os eventos de uma lista em duas consultas pontuais
+     * (participações e colaborações), em vez de percorrer as coleções de cada evento.
+     */
+    private Map<Long, EventMembership> findMemberships(Long userId, List<Long> eventIds) {
+        Map<Long, EventMembership> memberships = new HashMap<>();
+        if (userId == null || eventIds.isEmpty()) {
+            return memberships;
+        }
+        Set<Long> collaboratorOf = new HashSet<>(eventRepository.findCollaboratingEventIds(userId, eventIds));
+        for (Object[] row : participantRepository.findMembershipsByUserIdAndEventIdIn(userId, eventIds)) {
+            Long eventId = (Long) row[0];
+            memberships.put(eventId, new EventMembership(collaboratorOf.contains(eventId), (ParticipantStatus) row[1], (Boolean) row[2]));
+        }
+        for (Long eventId : collaboratorOf) {
+            memberships.putIfAbsent(eventId, new EventMembership(true, null, false));
+        }
+        return memberships;
+    }
+
+    public String getEventPhoto(Long eventId) {
+        String photo = eventRepository.findPhotoById(eventId);
+        if (photo == null || photo.isEmpty()) {
+            throw new EntityNotFoundException("Evento sem foto");
+        }
+        return photo;
     }
 
     public Event updateEventPhoto(Long eventId, String base64Image) {
         Event event = getEvent(eventId);
         event.setPhoto(base64Image);
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        publicFeedCache.evictIfPublic(savedEvent);
+        return savedEvent;
     }
     
-    public List<EventDTO> getParticipatingEventsForUser(Long userId) {
-        List<Event> events = eventRepository.findEventsByParticipantUserId(userId);
-        return eventMapper.toDTOListWithUserContext(events, userId);
+    public EventPageDTO getParticipatingEventsForUser(Long userId, String cursor, Integer limit) {
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        List<EventSummaryDTO> events = eventRepository.findPageByParticipant(userId,
+                after.getFixedStartAt(), after.getId(), PageRequest.of(0, size + 1));
+        return toPage(events, size, userId);
     }
 
     public Map<String, Object> uploadEventImage(Long eventId, org.springframework.web.multipart.MultipartFile file, Long userId) {
@@ -543,7 +844,7 @@ public class EventService {
             if (!EventCodeGenerator.isValidCodeFormat(eventCode)) {
                 throw new IllegalArgumentException("Código de evento inválido. Deve conter 8 caracteres (letras e números).");
             }
-            Event event = eventRepository.findByInviteCode(eventCode);
+            Event event = eventRepository.findDetailedByInviteCode(eventCode);
             if (event == null) {
                 throw new EntityNotFoundException("Evento não encontrado com o código fornecido.");
             }
@@ -577,23 +878,104 @@ public class EventService {
         return event;
     }
     
-    public List<EventDTO> getNextEventsWithUserInfo(Long userId) {
-        List<State> excludedStates = Arrays.asList(State.FINISHED, State.CANCELED);
-        List<Event> ownedEvents = eventRepository.findByOwnerIdAndStateNotIn(userId, excludedStates);
-        List<Event> participantEvents = eventRepository.findByParticipantsUserIdAndStateNot(userId, State.FINISHED);
-        participantEvents = participantEvents.stream()
-            .filter(e -> !excludedStates.contains(e.getState()))
-            .collect(Collectors.toList());
-        Set<Event> allEvents = new HashSet<>();
-        allEvents.addAll(ownedEvents);
-        allEvents.addAll(participantEvents);
-        return eventMapper.toDTOListWithUserContext(new ArrayList<>(allEvents), userId);
+    public EventPageDTO getNextEventsWithUserInfo(Long userId, String cursor, Integer limit) {
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        List<EventSummaryDTO> events = eventRepository.findPageByMember(userId, LIVE_STATES,
+                after.getFixedStartAt(), after.getId(), PageRequest.of(0, size + 1));
+        return toPage(events, size, userId);
     }
     
-    public List<EventDTO> getNextPublicEventsWithUserInfo(Long userId) {
-        List<State> excludedStates = Arrays.asList(State.FINISHED, State.CANCELED);
-        List<Event> publicEvents = eventRepository.findByAcessAndStateNotIn(com.eventsphere.entity.event.Acess.PUBLIC, excludedStates);  
-        return eventMapper.toDTOListWithUserContext(publicEvents, userId);
+    public EventPageDTO getNextPublicEventsWithUserInfo(Long userId, String cursor, Integer limit) {
+        return getPublicEventsWithUserInfo(userId, new PublicEventFilter(), null, cursor, limit);
+    }
+
+    /**
+     * Próximos eventos do usuário somados ao catálogo público. Cada fonte já vem ordenada por
+     * (fixedStartAt, id) e limitada a uma página a partir do cursor; as duas são intercaladas sem
+     * repetição até o limite. A primeira página pública sai do PublicFeedCache; as seguintes não, porque o
+     * cursor vem da lista combinada de cada usuário e não se repete entre usuários.
+     */
+    public EventPageDTO getNextEventsAndPublicWithUserInfo(Long userId, String cursor, Integer limit) {
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        List<EventSummaryDTO> mine = eventRepository.findPageByMember(userId, LIVE_STATES,
+                after.getFixedStartAt(), after.getId(), PageRequest.of(0, size + 1));
+        PublicEventFilter filter = new PublicEventFilter();
+        EventPageDTO publicPage = cursor == null || cursor.isBlank()
+                ? sharedPublicPage(LIVE_STATES, filter, false, null, size)
+                : loadPublicPage(LIVE_STATES, filter, false, cursor, size);
+        List<EventSummaryDTO> merged = mergeByStart(List.of(mine, copyOf(publicPage.getEvents())), size + 1);
+        EventPageDTO page = slicePage(merged, size);
+        // A página pública vem cortada em size; se ela tem continuação, a lista combinada também tem
+        if (page.getNextCursor() == null && publicPage.getNextCursor() != null && !merged.isEmpty()) {
+            EventSummaryDTO last = merged.get(merged.size() - 1);
+            page.setNextCursor(new EventCursor(last.getFixedStartAt(), last.getId()).encode());
+        }
+        return withUserContext(page, userId);
+    }
+
+    /**
+     * Eventos que se sobrepõem aos dias [from, to], inclusive os que começaram antes e terminam depois da
+     * janela. scope "mine" traz os eventos do usuário em qualquer estado, "public" os eventos públicos não
+     * cancelados e "all" (padrão) a união dos dois, em ordem de início.
+     */
+    public List<EventSummaryDTO> getCalendarEvents(Long userId, LocalDate from, LocalDate to, String scope) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxCalendarDays) {
+            throw new IllegalArgumentException("O intervalo do calendário deve ter no máximo " + maxCalendarDays + " dias");
+        }
+        String normalizedScope = scope == null || scope.isEmpty() ? "all" : scope.toLowerCase();
+        if (!List.of("all", "mine", "public").contains(normalizedScope)) {
+            throw new IllegalArgumentException("Escopo inválido: " + scope);
+        }
+        LocalDateTime windowStart = from.atStartOfDay();
+        LocalDateTime windowEnd = to.plusDays(1).atStartOfDay();
+        LocalDateTime earliestStart = windowStart.minus(Event.LONG_RUNNING_THRESHOLD);
+        List<List<EventSummaryDTO>> sources = new ArrayList<>();
+        if (!normalizedScope.equals("public")) {
+            sources.add(eventRepository.findShortOverlappingByOwner(userId, ALL_STATES, earliestStart, windowStart, windowEnd));
+            sources.add(eventRepository.findLongOverlappingByOwner(userId, ALL_STATES, windowStart, windowEnd));
+            sources.add(eventRepository.findOverlappingByParticipant(userId, ALL_STATES, windowStart, windowEnd));
+            sources.add(eventRepository.findOverlappingByCollaborator(userId, ALL_STATES, windowStart, windowEnd));
+        }
+        if (!normalizedScope.equals("mine")) {
+            sources.add(eventRepository.findShortOverlappingByAcess(Acess.PUBLIC, CALENDAR_PUBLIC_STATES, earliestStart, windowStart, windowEnd));
+            sources.add(eventRepository.findLongOverlappingByAcess(Acess.PUBLIC, CALENDAR_PUBLIC_STATES, windowStart, windowEnd));
+        }
+        List<EventSummaryDTO> events = mergeByStart(sources, Integer.MAX_VALUE);
+        return withUserContext(new EventPageDTO(events, null), userId).getEvents();
+    }
+
+    /**
+     * Intercalação k-way de listas ordenadas por (fixedStartAt, id). Como a chave é única, um evento
+     * presente em mais de uma lista sai em sequência e só a primeira ocorrência é mantida.
+     */
+    private List<EventSummaryDTO> mergeByStart(List<List<EventSummaryDTO>> sources, int limit) {
+        Comparator<EventSummaryDTO> byStart = Comparator.comparing(EventSummaryDTO::getFixedStartAt)
+                .thenComparing(EventSummaryDTO::getId);
+        PriorityQueue<Map.Entry<EventSummaryDTO, Iterator<EventSummaryDTO>>> heads =
+                new PriorityQueue<>(Map.Entry.comparingByKey(byStart));
+        for (List<EventSummaryDTO> source : sources) {
+            Iterator<EventSummaryDTO> iterator = source.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new AbstractMap.SimpleEntry<>(iterator.next(), iterator));
+            }
+        }
+        List<EventSummaryDTO> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Map.Entry<EventSummaryDTO, Iterator<EventSummaryDTO>> head = heads.poll();
+            EventSummaryDTO event = head.getKey();
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(event.getId())) {
+                merged.add(event);
+            }
+            if (head.getValue().hasNext()) {
+                heads.add(new AbstractMap.SimpleEntry<>(head.getValue().next(), head.getValue()));
+            }
+        }
+        return merged;
     }
     
     public void authorizeInviteCreation(Long eventID, Long userId) {
@@ -631,7 +1013,7 @@ public class EventService {
                 throw new IllegalArgumentException("Código de evento inválido. Deve conter 8 caracteres (letras e números).");
             }
             
-            Event event = eventRepository.findByInviteCode(eventCode);
+            Event event = eventRepository.findDetailedByInviteCode(eventCode);
             
             if (event == null) {
                 throw new EntityNotFoundException("Evento não encontrado com o código fornecido.");
@@ -666,16 +1048,7 @@ public class EventService {
         return event.getInviteCode();
     }
 
-    public List<EventDTO> getMyActiveEventsWithUserInfo(Long userId) {
-        List<Event> ownedEvents = eventRepository.findByOwnerId(userId);
-        List<Event> participantEvents = eventRepository.findEventsByParticipantUserId(userId);
-        Set<Event> allEvents = new HashSet<>();
-        allEvents.addAll(ownedEvents);
-        allEvents.addAll(participantEvents);
-        List<Event> filteredEvents = allEvents.stream()
-            .filter(event -> event.getState() != State.FINISHED && event.getState() != State.CANCELED)
-            .collect(Collectors.toList());
-        
-        return eventMapper.toDTOListWithUserContext(filteredEvents, userId);
+    public EventPageDTO getMyActiveEventsWithUserInfo(Long userId, String cursor, Integer limit) {
+        return getNextEventsWithUserInfo(userId, cursor, limit);
     }
 }
\ No newline at end of file
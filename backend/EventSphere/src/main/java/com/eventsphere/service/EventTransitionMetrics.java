@@ -0,0 +1,87 @@
+package com.eventsphere.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas dos jobs de transição automática (expostas em /actuator/metrics e /actuator/prometheus).
+ * O atraso mede quanto tempo depois do horário fixo cada evento realmente mudou de estado.
+ */
+@Component
+public class EventTransitionMetrics {
+
+    public static final String START_JOB = "start";
+    public static final String FINISH_JOB = "finish";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EventTransitionScheduler transitionScheduler;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("eventsphere.scheduler.pending", transitionScheduler, EventTransitionScheduler::pendingStartCount)
+                .description("Eventos aguardando início na fila de transições")
+                .tag("job", START_JOB)
+                .register(meterRegistry);
+        Gauge.builder("eventsphere.scheduler.pending", transitionScheduler, EventTransitionScheduler::pendingFinishCount)
+                .description("Eventos aguardando término na fila de transições")
+                .tag("job", FINISH_JOB)
+                .register(meterRegistry);
+        Gauge.builder("eventsphere.scheduler.leader", leaseService, lease -> lease.isLeader() ? 1 : 0)
+                .description("1 se esta réplica detém o lease dos jobs de transição")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra uma execução de job: examined é quantos eventos vencidos ele encontrou, transitioned quantos
+     * mudaram de estado e dueTimes o horário fixo dos que mudaram e cujo horário o job conhece, únicos com
+     * atraso registrado (a transição em massa por UPDATE devolve só a contagem).
+     */
+    public void recordRun(String job, int examined, int transitioned, List<LocalDateTime> dueTimes,
+                          LocalDateTime transitionedAt, long durationNanos) {
+        Timer.builder("eventsphere.scheduler.run")
+                .description("Duração de cada execução de um job de transição")
+                .tag("job", job)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("eventsphere.scheduler.events.examined")
+                .description("Eventos vencidos encontrados pelos jobs de transição")
+                .tag("job", job)
+                .register(meterRegistry)
+                .increment(examined);
+        Counter.builder("eventsphere.scheduler.events.transitioned")
+                .description("Eventos que mudaram de estado pelos jobs de transição")
+                .tag("job", job)
+                .register(meterRegistry)
+                .increment(transitioned);
+        if (dueTimes.isEmpty()) {
+            return;
+        }
+        Timer lag = Timer.builder("eventsphere.scheduler.transition.lag")
+                .description("Atraso entre o horário fixo e a transição efetiva do evento")
+                .tag("job", job)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(30),
+                        Duration.ofMinutes(1), Duration.ofMinutes(5))
+                .register(meterRegistry);
+        for (LocalDateTime dueAt : dueTimes) {
+            Duration delay = Duration.between(dueAt, transitionedAt);
+            lag.record(delay.isNegative() ? Duration.ZERO : delay);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.State;
+import com.eventsphere.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Fila de transições automáticas de estado dos eventos, ordenada pelo horário fixo de início/fim, de onde
+ * os jobs da réplica líder tiram a cada segundo os eventos a iniciar ou finalizar. Apenas eventos CREATED
+ * (aguardando início) e ACTIVE (aguardando fim) ficam na fila, de modo que cada verificação custa
+ * proporcionalmente ao número de eventos vencidos, e não ao tamanho da tabela. A fila é carregada do banco
+ * quando a réplica assume o lease; eventos criados ou editados depois em outras réplicas ficam para a
+ * varredura de segurança (EventService.sweepDueTransitions).
+ */
+@Component
+public class EventTransitionScheduler {
+
+    private static final Logger logger = Logger.getLogger(EventTransitionScheduler.class.getName());
+
+    // Réplicas que não são líderes nunca tiram nada da fila, então as entradas obsoletas deixadas por
+    // edições e cancelamentos são descartadas quando passam do dobro das vigentes
+    private static final int MIN_COMPACTION_SIZE = 64;
+
+    public record Transition(Long eventId, LocalDateTime dueAt, LocalDateTime fixedEnd) {
+    }
+
+    private record Schedule(State state, LocalDateTime fixedStart, LocalDateTime fixedEnd) {
+    }
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    private long syncedFencingToken = -1;
+
+    private final PriorityQueue<Transition> startQueue = new PriorityQueue<>(Comparator.comparing(Transition::dueAt));
+    private final PriorityQueue<Transition> finishQueue = new PriorityQueue<>(Comparator.comparing(Transition::dueAt));
+
+    // Transição vigente de cada evento na fila; entradas da fila que não batem com este mapa estão obsoletas
+    private final Map<Long, Transition> pendingStarts = new HashMap<>();
+    private final Map<Long, Transition> pendingFinishes = new HashMap<>();
+
+    // Agenda mais recente dos eventos alterados durante uma recarga (null = esquecido), reaplicada ao final
+    private Map<Long, Schedule> changedDuringReload;
+
+    private final Object reloadLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void loadPendingTransitions() {
+        synchronized (reloadLock) {
+            Map<Long, Schedule> changes = new HashMap<>();
+            synchronized (this) {
+                changedDuringReload = changes;
+            }
+            try {
+                List<Object[]> rows = eventRepository.findScheduleByStateIn(Arrays.asList(State.CREATED, State.ACTIVE));
+                synchronized (this) {
+                    startQueue.clear();
+                    finishQueue.clear();
+                    pendingStarts.clear();
+                    pendingFinishes.clear();
+                    for (Object[] row : rows) {
+                        if (row[2] == null || row[3] == null) {
+                            continue;
+                        }
+                        schedule((Long) row[0], (State) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3]);
+                    }
+                    for (Map.Entry<Long, Schedule> change : changes.entrySet()) {
+                        Schedule schedule = change.getValue();
+                        if (schedule == null) {
+                            unschedule(change.getKey());
+                        } else {
+                            schedule(change.getKey(), schedule.state(), schedule.fixedStart(), schedule.fixedEnd());
+                        }
+                    }
+                    logger.info("Transições de eventos carregadas: " + pendingStarts.size() + " para iniciar, "
+                            + pendingFinishes.size() + " para finalizar");
+                }
+            } finally {
+                synchronized (this) {
+                    changedDuringReload = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * A fila só conhece as alterações feitas nesta réplica; ao assumir o lease, a réplica recarrega a
+     * agenda do banco, que pode ter mudado nas demais enquanto outra era a líder.
+     */
+    @Scheduled(fixedRate = 1000)
+    public void resyncIfLeader() {
+        if (!leaseService.isLeader()) {
+            return;
+        }
+        long token = leaseService.getFencingToken();
+        if (token != syncedFencingToken) {
+            loadPendingTransitions();
+            syncedFencingToken = token;
+        }
+    }
+
+    public synchronized void track(Event event) {
+        if (event == null || event.getId() == null) {
+            return;
+        }
+        if (event.getFixedStartAt() == null || event.getFixedEndAt() == null) {
+            forget(event.getId());
+            return;
+        }
+        schedule(event.getId(), event.getState(), event.getFixedStartAt(), event.getFixedEndAt());
+        if (changedDuringReload != null) {
+            changedDuringReload.put(event.getId(), new Schedule(event.getState(), event.getFixedStartAt(), event.getFixedEndAt()));
+        }
+    }
+
+    public synchronized void forget(Long eventId) {
+        unschedule(eventId);
+        if (changedDuringReload != null) {
+            changedDuringReload.put(eventId, null);
+        }
+    }
+
+    /**
+     * Retira da fila os eventos cujo início venceu e já os agenda para finalização,
+     * pois serão iniciados em lote pelo job de início automático.
+     */
+    public synchronized List<Transition> pollDueStarts(LocalDateTime now) {
+        List<Transition> due = pollDue(startQueue, pendingStarts, now);
+        for (Transition transition : due) {
+            scheduleFinish(transition.eventId(), transition.fixedEnd());
+        }
+        return due;
+    }
+
+    public synchronized int pendingStartCount() {
+        return pendingStarts.size();
+    }
+
+    public synchronized int pendingFinishCount() {
+        return pendingFinishes.size();
+    }
+
+    // Entradas nas duas filas, vigentes e obsoletas
+    synchronized int queuedTransitionCount() {
+        return startQueue.size() + finishQueue.size();
+    }
+
+    public synchronized List<Transition> pollDueFinishes(LocalDateTime now) {
+        return pollDue(finishQueue, pendingFinishes, now);
+    }
+
+    private void schedule(Long eventId, State state, LocalDateTime fixedStart, LocalDateTime fixedEnd) {
+        if (state == State.CREATED) {
+            if (pendingFinishes.remove(eventId) != null) {
+                compactIfStale(finishQueue, pendingFinishes);
+            }
+            enqueue(startQueue, pendingStarts, new Transition(eventId, fixedStart, fixedEnd));
+        } else if (state == State.ACTIVE) {
+            if (pendingStarts.remove(eventId) != null) {
+                compactIfStale(startQueue, pendingStarts);
+            }
+            scheduleFinish(eventId, fixedEnd);
+        } else {
+            unschedule(eventId);
+        }
+    }
+
+    private void unschedule(Long eventId) {
+        if (pendingStarts.remove(eventId) != null) {
+            compactIfStale(startQueue, pendingStarts);
+        }
+        if (pendingFinishes.remove(eventId) != null) {
+            compactIfStale(finishQueue, pendingFinishes);
+        }
+    }
+
+    private void scheduleFinish(Long eventId, LocalDateTime fixedEnd) {
+        enqueue(finishQueue, pendingFinishes, new Transition(eventId, fixedEnd, fixedEnd));
+    }
+
+    // Uma transição igual à vigente já está na fila e não é enfileirada de novo
+    private void enqueue(PriorityQueue<Transition> queue, Map<Long, Transition> pending, Transition transition) {
+        if (transition.equals(pending.put(transition.eventId(), transition))) {
+            return;
+        }
+        queue.add(transition);
+        compactIfStale(queue, pending);
+    }
+
+    private void compactIfStale(PriorityQueue<Transition> queue, Map<Long, Transition> pending) {
+        if (queue.size() > MIN_COMPACTION_SIZE && queue.size() > 2 * pending.size()) {
+            queue.removeIf(entry -> !entry.equals(pending.get(entry.eventId())));
+        }
+    }
+
+    private List<Transition> pollDue(PriorityQueue<Transition> queue, Map<Long, Transition> pending, LocalDateTime now) {
+        List<Transition> due = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+            Transition transition = queue.poll();
+            if (transition.equals(pending.get(transition.eventId()))) {
+                pending.remove(transition.eventId());
+                due.add(transition);
+            }
+        }
+        return due;
+    }
+}
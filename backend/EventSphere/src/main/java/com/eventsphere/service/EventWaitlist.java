@@ -0,0 +1,358 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.ParticipantHistory;
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.repository.ParticipantHistoryRepository;
+import com.eventsphere.repository.ParticipantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+/**
+ * Listas de espera dos eventos lotados. A ordem fica gravada no banco (participantes WAITLISTED, pela
+ * ordem de inserção) e é espelhada em memória, por evento, numa fila com contagem por posição (WaitQueue),
+ * de onde sai a posição de cada um em O(log n). Quem é promovido é decidido pelo banco; a memória só muda
+ * depois do commit da transação que alterou a fila, e esperas registradas por outras réplicas entram na
+ * próxima recarga.
+ */
+@Component
+public class EventWaitlist {
+
+    private static final Logger logger = Logger.getLogger(EventWaitlist.class.getName());
+
+    // Alteração feita durante uma recarga; participantId nulo descarta a fila inteira do evento
+    private record Change(Long eventId, Long participantId, boolean waiting) {
+    }
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private ParticipantHistoryRepository participantHistoryRepository;
+
+    @Autowired
+    private ParticipantCounters participantCounters;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids dos participantes em espera, por evento, em ordem de chegada
+    private Map<Long, WaitQueue> queues = new HashMap<>();
+
+    private List<Change> changedDuringReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        List<Change> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Map<Long, List<Long>> entries = new HashMap<>();
+            int waiting = 0;
+            for (Object[] row : participantRepository.findWaitlistEntries()) {
+                entries.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((Long) row[1]);
+                waiting++;
+            }
+            Map<Long, WaitQueue> loaded = new HashMap<>();
+            entries.forEach((eventId, participantIds) -> loaded.put(eventId, WaitQueue.of(participantIds)));
+            lock.writeLock().lock();
+            try {
+                for (Change change : changes) {
+                    apply(loaded, change);
+                }
+                queues = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Listas de espera carregadas: " + waiting + " participantes em " + loaded.size() + " eventos");
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${event.waitlist.resync-ms:300000}", initialDelayString = "${event.waitlist.resync-ms:300000}")
+    public void resync() {
+        reload();
+    }
+
+    public void enqueue(Long eventId, Long participantId) {
+        change(new Change(eventId, participantId, true));
+    }
+
+    public void dequeue(Long eventId, Long participantId) {
+        change(new Change(eventId, participantId, false));
+    }
+
+    public void forgetEvent(Long eventId) {
+        change(new Change(eventId, null, false));
+    }
+
+    // Posição na fila a partir de 1; 0 se o participante não estiver esperando
+    public int position(Long eventId, Long participantId) {
+        lock.readLock().lock();
+        try {
+            WaitQueue queue = queues.get(eventId);
+            if (queue == null || !queue.contains(participantId)) {
+                return 0;
+            }
+            return queue.position(participantId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passa os primeiros da lista de espera a convidados enquanto o evento tiver vaga. Deve rodar na
+     * mesma transação que liberou a vaga, para que nenhuma outra entrada a ocupe antes da promoção.
+     */
+    @Transactional
+    public int promote(Long eventId) {
+        int promoted = 0;
+        Long participantId;
+        while ((participantId = claimNext(eventId)) != null) {
+            if (!participantCounters.reservePromotion(eventId)) {
+                participantRepository.returnToWaitlist(participantId);
+                enqueue(eventId, participantId);
+                break;
+            }
+            ParticipantHistory history = new ParticipantHistory();
+            history.setParticipant(participantRepository.getReferenceById(participantId));
+            history.setStatus(ParticipantStatus.INVITED);
+            history.setChangeTimestamp(LocalDateTime.now());
+            participantHistoryRepository.save(history);
+            promoted++;
+        }
+        return promoted;
+    }
+
+    // Tira o primeiro da fila segundo o banco, que também vê as esperas registradas por outras réplicas
+    private Long claimNext(Long eventId) {
+        while (true) {
+            List<Long> head = participantRepository.lockWaitlistHead(eventId, PageRequest.of(0, 1));
+            Long candidate = head.isEmpty() ? null : head.get(0);
+            discardUpTo(eventId, candidate);
+            if (candidate == null || participantRepository.promoteWaitlisted(candidate) == 1) {
+                return candidate;
+            }
+        }
+    }
+
+    // Quem está antes do primeiro da fila no banco (ou todos, se ninguém espera) já não está esperando
+    private void discardUpTo(Long eventId, Long head) {
+        List<Long> stale = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            WaitQueue queue = queues.get(eventId);
+            if (queue != null) {
+                stale.addAll(queue.before(head));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!stale.isEmpty()) {
+            logger.fine("Lista de espera do evento " + eventId + " defasada em memória: " + stale);
+        }
+        if (head != null) {
+            stale.add(head);
+        }
+        stale.forEach(participantId -> dequeue(eventId, participantId));
+    }
+
+    // Dentro de uma transação, a memória só muda no commit; num rollback a fila continua como no banco
+    private void change(Change change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyNow(change);
+                }
+            });
+        } else {
+            applyNow(change);
+        }
+    }
+
+    private void applyNow(Change change) {
+        lock.writeLock().lock();
+        try {
+            apply(queues, change);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Map<Long, WaitQueue> target, Change change) {
+        if (change.participantId() == null) {
+            target.remove(change.eventId());
+        } else if (change.waiting()) {
+            target.computeIfAbsent(change.eventId(), k -> new WaitQueue()).add(change.participantId());
+        } else {
+            WaitQueue queue = target.get(change.eventId());
+            if (queue != null && queue.remove(change.participantId()) && queue.isEmpty()) {
+                target.remove(change.eventId());
+            }
+        }
+    }
+
+    /**
+     * Fila de espera de um evento. Cada id ocupa uma casa, em ordem crescente, e uma árvore de Fenwick conta
+     * as casas ainda ocupadas, de modo que a posição sai da soma de prefixo em O(log n). Quem chega vai para
+     * o fim; um id menor que o último (devolução à fila, esperas de outras réplicas) reconstrói a estrutura,
+     * assim como o acúmulo de casas vazias.
+     */
+    static final class WaitQueue {
+
+        private static final int MIN_CAPACITY = 16;
+
+        private long[] ids = new long[MIN_CAPACITY];
+        private boolean[] present = new boolean[MIN_CAPACITY];
+        // Índices a partir de 1: tree[i] soma as casas (i - lowbit(i), i]
+        private int[] tree = new int[MIN_CAPACITY + 1];
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private int used;
+        private int size;
+
+        static WaitQueue of(List<Long> participantIds) {
+            WaitQueue queue = new WaitQueue();
+            List<Long> sorted = new ArrayList<>(participantIds);
+            Collections.sort(sorted);
+            queue.rebuild(sorted);
+            return queue;
+        }
+
+        boolean add(long participantId) {
+            Integer slot = slots.get(participantId);
+            if (slot != null) {
+                if (present[slot]) {
+                    return false;
+                }
+                present[slot] = true;
+                size++;
+                update(slot + 1, 1);
+                return true;
+            }
+            if (used > 0 && participantId < ids[used - 1]) {
+                List<Long> live = before(null);
+                live.add(participantId);
+                Collections.sort(live);
+                rebuild(live);
+                return true;
+            }
+            append(participantId);
+            return true;
+        }
+
+        boolean remove(long participantId) {
+            Integer slot = slots.get(participantId);
+            if (slot == null || !present[slot]) {
+                return false;
+            }
+            present[slot] = false;
+            size--;
+            update(slot + 1, -1);
+            if (used > MIN_CAPACITY && size < used / 2) {
+                rebuild(before(null));
+            }
+            return true;
+        }
+
+        boolean contains(long participantId) {
+            Integer slot = slots.get(participantId);
+            return slot != null && present[slot];
+        }
+
+        // Posição a partir de 1 de um participante que está na fila
+        int position(long participantId) {
+            return prefix(slots.get(participantId) + 1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        // Participantes na fila antes de head, em ordem; todos se head for nulo
+        List<Long> before(Long head) {
+            List<Long> result = new ArrayList<>();
+            for (int i = 0; i < used && (head == null || ids[i] < head); i++) {
+                if (present[i]) {
+                    result.add(ids[i]);
+                }
+            }
+            return result;
+        }
+
+        private void append(long participantId) {
+            if (used == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                present = Arrays.copyOf(present, capacity);
+                tree = Arrays.copyOf(tree, capacity + 1);
+            }
+            int index = used + 1;
+            ids[used] = participantId;
+            present[used] = true;
+            slots.put(participantId, used);
+            used++;
+            size++;
+            tree[index] = prefix(index - 1) - prefix(index - (index & -index)) + 1;
+        }
+
+        private void rebuild(List<Long> sortedIds) {
+            int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, sortedIds.size())) * 2);
+            ids = new long[capacity];
+            present = new boolean[capacity];
+            tree = new int[capacity + 1];
+            slots.clear();
+            used = sortedIds.size();
+            size = used;
+            for (int i = 0; i < used; i++) {
+                ids[i] = sortedIds.get(i);
+                present[i] = true;
+                slots.put(ids[i], i);
+            }
+            for (int i = 1; i <= used; i++) {
+                tree[i]++;
+                int parent = i + (i & -i);
+                if (parent <= used) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        private void update(int index, int delta) {
+            for (int i = index; i <= used; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int prefix(int index) {
+            int sum = 0;
+            for (int i = index; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -22,13 +22,15 @@ public class FileStorageService {
     private UserRepository userRepository;
     private EventRepository eventRepository;
     private EventService eventService;
+    private PublicFeedCache publicFeedCache;
 
     
-    public FileStorageService(@Value("${file.upload-dir:uploads}") String uploadDir, UserRepository userRepository, EventRepository eventRepository, EventService eventService) {
+    public FileStorageService(@Value("${file.upload-dir:uploads}") String uploadDir, UserRepository userRepository, EventRepository eventRepository, EventService eventService, PublicFeedCache publicFeedCache) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.eventService = eventService;
+        this.publicFeedCache = publicFeedCache;
         try {
             Files.createDirectories(this.fileStorageLocation);
         } catch (Exception ex) {
@@ -77,6 +79,7 @@ public class FileStorageService {
         String fileName = storeFile(file);
         event.setPhoto(fileName);
         eventRepository.save(event);
+        publicFeedCache.evictIfPublic(event);
         return fileName;
     }
 
@@ -60,4 +60,15 @@ public class ImageService {
         }
         return String.format("data:%s;base64,%s", mimeType, base64);
     }
+
+    public String extractMimeType(String dataUrl) {
+        if (dataUrl == null || !dataUrl.startsWith("data:") || !dataUrl.contains(";")) {
+            return "image/jpeg";
+        }
+        return dataUrl.substring("data:".length(), dataUrl.indexOf(";"));
+    }
+
+    public byte[] decode(String dataUrl) {
+        return Base64.getDecoder().decode(extractBase64(dataUrl));
+    }
 }
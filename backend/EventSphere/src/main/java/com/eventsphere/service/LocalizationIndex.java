@@ -0,0 +1,263 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.Acess;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Trie dos locais usados em eventos públicos, para o autocompletar do cadastro de eventos. Grafias que
+ * diferem só em maiúsculas, acentos ou espaços contam como o mesmo local e são exibidas na forma mais
+ * usada. Cada nó guarda os locais mais frequentes da sua subárvore, então a consulta percorre apenas
+ * o prefixo. Locais de eventos privados não entram, para não expor endereços a outros usuários.
+ */
+@Component
+public class LocalizationIndex {
+
+    private static final Logger logger = Logger.getLogger(LocalizationIndex.class.getName());
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final Comparator<Venue> BY_USAGE = Comparator.comparingInt((Venue venue) -> venue.count).reversed()
+            .thenComparing(venue -> venue.key);
+
+    private static class Venue {
+        private final String key;
+        private final Map<String, Integer> spellings = new HashMap<>();
+        private int count;
+
+        private Venue(String key) {
+            this.key = key;
+        }
+
+        private String display() {
+            return Collections.max(spellings.entrySet(), Map.Entry.<String, Integer>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()))).getKey();
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Venue venue;
+        private List<Venue> top = List.of();
+
+        // Os mais usados da subárvore saem do próprio local e dos mais usados de cada filho
+        private void refreshTop() {
+            List<Venue> candidates = new ArrayList<>();
+            if (venue != null) {
+                candidates.add(venue);
+            }
+            for (Node child : children.values()) {
+                candidates.addAll(child.top);
+            }
+            candidates.sort(BY_USAGE);
+            top = List.copyOf(candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())));
+        }
+    }
+
+    private static class Trie {
+        private final Node root = new Node();
+        // Grafia registrada para cada evento, para desfazer a contagem quando o evento muda ou sai
+        private final Map<Long, String> spellingsByEvent = new HashMap<>();
+
+        private void add(Long eventId, String spelling, boolean refresh) {
+            remove(eventId);
+            String key = spelling == null ? "" : normalize(spelling);
+            if (key.isEmpty()) {
+                return;
+            }
+            spellingsByEvent.put(eventId, spelling);
+            List<Node> path = path(key, true);
+            Node node = path.get(path.size() - 1);
+            if (node.venue == null) {
+                node.venue = new Venue(key);
+            }
+            node.venue.count++;
+            node.venue.spellings.merge(spelling, 1, Integer::sum);
+            if (refresh) {
+                refresh(path);
+            }
+        }
+
+        private void remove(Long eventId) {
+            String spelling = spellingsByEvent.remove(eventId);
+            if (spelling == null) {
+                return;
+            }
+            String key = normalize(spelling);
+            List<Node> path = path(key, false);
+            Node node = path.get(path.size() - 1);
+            node.venue.count--;
+            if (node.venue.spellings.merge(spelling, -1, Integer::sum) == 0) {
+                node.venue.spellings.remove(spelling);
+            }
+            if (node.venue.count == 0) {
+                node.venue = null;
+            }
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node current = path.get(i);
+                if (current.venue == null && current.children.isEmpty()) {
+                    path.get(i - 1).children.remove(key.charAt(i - 1));
+                }
+            }
+            refresh(path);
+        }
+
+        private List<Node> path(String key, boolean create) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = create ? node.children.computeIfAbsent(key.charAt(i), c -> new Node()) : node.children.get(key.charAt(i));
+                path.add(node);
+            }
+            return path;
+        }
+
+        private void refresh(List<Node> path) {
+            for (int i = path.size() - 1; i >= 0; i--) {
+                path.get(i).refreshTop();
+            }
+        }
+
+        private void refreshAll(Node node) {
+            for (Node child : node.children.values()) {
+                refreshAll(child);
+            }
+            node.refreshTop();
+        }
+
+        private Node find(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+    }
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Trie trie = new Trie();
+
+    // Grafia mais recente dos eventos alterados durante uma recarga (null = removido), reaplicada ao final
+    private Map<Long, String> changedDuringReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<Long, String> changes = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Trie loaded = new Trie();
+            for (Object[] row : eventRepository.findLocalizationsByAcess(Acess.PUBLIC)) {
+                loaded.add((Long) row[0], trim((String) row[1]), false);
+            }
+            loaded.refreshAll(loaded.root);
+            lock.writeLock().lock();
+            try {
+                for (Map.Entry<Long, String> change : changes.entrySet()) {
+                    loaded.remove(change.getKey());
+                    if (change.getValue() != null) {
+                        loaded.add(change.getKey(), change.getValue(), true);
+                    }
+                }
+                trie = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Índice de locais carregado: " + loaded.spellingsByEvent.size() + " eventos");
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${event.localizations.resync-ms:300000}", initialDelayString = "${event.localizations.resync-ms:300000}")
+    public void resync() {
+        reload();
+    }
+
+    public void track(Event event) {
+        if (event == null || event.getId() == null) {
+            return;
+        }
+        put(event.getId(), event.getAcess() == Acess.PUBLIC ? trim(event.getLocalization()) : null);
+    }
+
+    public void forget(Long eventId) {
+        put(eventId, null);
+    }
+
+    /**
+     * Locais que começam com o prefixo (ignorando maiúsculas, acentos e espaços repetidos), do mais
+     * usado para o menos usado. Prefixo vazio devolve os locais mais usados em geral.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix == null ? "" : prefix);
+        lock.readLock().lock();
+        try {
+            Node node = trie.find(key);
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            List<String> suggestions = new ArrayList<>();
+            for (Venue venue : node.top.subList(0, Math.min(limit, node.top.size()))) {
+                suggestions.add(venue.display());
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long eventId, String spelling) {
+        lock.writeLock().lock();
+        try {
+            if (spelling == null || spelling.isEmpty()) {
+                trie.remove(eventId);
+                spelling = null;
+            } else {
+                trie.add(eventId, spelling, true);
+            }
+            if (changedDuringReload != null) {
+                changedDuringReload.put(eventId, spelling);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String trim(String localization) {
+        return localization == null ? null : SPACES.matcher(localization.trim()).replaceAll(" ");
+    }
+
+    private static String normalize(String text) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
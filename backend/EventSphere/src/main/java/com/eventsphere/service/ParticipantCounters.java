@@ -0,0 +1,151 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.repository.EventRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Mantém os contadores de participantes do Event (convidados, confirmados, presentes, lista de espera e
+ * total) com um UPDATE de incremento a cada entrada, saída ou mudança de situação, para que listagens,
+ * filtros e relatórios leiam as contagens sem percorrer os participantes. Quem está na lista de espera
+ * não ocupa vaga, então não entra no total. Uma reconciliação recalcula os eventos cujos contadores divergem
+ * das linhas de EventParticipant: na subida, antes de a aplicação aceitar requisições (as colunas recém-criadas
+ * valem 0 e o filtro de vagas venderia lugares já ocupados), e depois periodicamente na réplica líder. Cada mudança descarta as páginas do catálogo público
+ * que mostram o evento (PublicFeedCache).
+ */
+@Component
+public class ParticipantCounters implements SmartInitializingSingleton {
+
+    private static final Logger logger = Logger.getLogger(ParticipantCounters.class.getName());
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private PublicFeedCache publicFeedCache;
+
+    public void joined(Long eventId, ParticipantStatus status) {
+        adjust(eventId, status, 1);
+    }
+
+    /**
+     * Ocupa uma vaga do evento e conta o novo participante com um único UPDATE condicional, que falha
+     * quando o evento já está lotado. Vagas guardadas para outros usuários (SeatHold) contam como
+     * ocupadas; a do próprio usuário não. Deve rodar na mesma transação que grava o participante.
+     */
+    public boolean reserveSeat(Long eventId, ParticipantStatus status, Long userId) {
+        return counted(eventId, eventRepository.reserveSeat(eventId,
+                status == ParticipantStatus.INVITED ? 1 : 0,
+                status == ParticipantStatus.CONFIRMED ? 1 : 0,
+                status == ParticipantStatus.PRESENT ? 1 : 0, 0, userId, LocalDateTime.now()));
+    }
+
+    /**
+     * Ocupa uma vaga para o próximo da lista de espera, que passa a convidado, com o mesmo UPDATE
+     * condicional de reserveSeat. Deve rodar depois que o participante já saiu da lista de espera.
+     */
+    public boolean reservePromotion(Long eventId) {
+        return counted(eventId, eventRepository.reserveSeat(eventId, 1, 0, 0, -1, 0L, LocalDateTime.now()));
+    }
+
+    public void left(Long eventId, ParticipantStatus status) {
+        adjust(eventId, status, -1);
+    }
+
+    public void changed(Long eventId, ParticipantStatus from, ParticipantStatus to) {
+        if (from == to) {
+            return;
+        }
+        int invited = delta(ParticipantStatus.INVITED, from, to);
+        int confirmed = delta(ParticipantStatus.CONFIRMED, from, to);
+        int present = delta(ParticipantStatus.PRESENT, from, to);
+        int waitlisted = delta(ParticipantStatus.WAITLISTED, from, to);
+        if (invited != 0 || confirmed != 0 || present != 0 || waitlisted != 0) {
+            counted(eventId, eventRepository.adjustParticipantCounters(eventId, invited, confirmed, present, waitlisted, -waitlisted));
+        }
+    }
+
+    /**
+     * Aplica de uma vez a variação de cada situação, como a de uma operação em lote sobre vários participantes.
+     */
+    public void adjust(Long eventId, Map<ParticipantStatus, Integer> deltas) {
+        int total = deltas.entrySet().stream()
+                .filter(delta -> delta.getKey() != ParticipantStatus.WAITLISTED)
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+        int invited = deltas.getOrDefault(ParticipantStatus.INVITED, 0);
+        int confirmed = deltas.getOrDefault(ParticipantStatus.CONFIRMED, 0);
+        int present = deltas.getOrDefault(ParticipantStatus.PRESENT, 0);
+        int waitlisted = deltas.getOrDefault(ParticipantStatus.WAITLISTED, 0);
+        if (invited != 0 || confirmed != 0 || present != 0 || waitlisted != 0 || total != 0) {
+            counted(eventId, eventRepository.adjustParticipantCounters(eventId, invited, confirmed, present, waitlisted, total));
+        }
+    }
+
+    // Roda antes de o servidor web abrir a porta, em todas as réplicas: a que sobe logo depois de criadas as
+    // colunas não pode esperar pela líder
+    @Override
+    public void afterSingletonsInstantiated() {
+        recountStale();
+    }
+
+    // Corrige divergências deixadas por falhas entre a gravação do participante e a do contador
+    @Scheduled(fixedRateString = "${event.counters.reconcile-ms:600000}", initialDelayString = "${event.counters.initial-delay-ms:20000}")
+    public void reconcile() {
+        if (!leaseService.isLeader()) {
+            return;
+        }
+        recountStale();
+    }
+
+    private void recountStale() {
+        int recounted = 0;
+        List<Long> ids = eventRepository.findIdsWithStaleParticipantCounters(PageRequest.of(0, BATCH_SIZE));
+        while (!ids.isEmpty()) {
+            int batchRecounted = eventRepository.recountParticipants(ids);
+            recounted += batchRecounted;
+            if (ids.size() < BATCH_SIZE || batchRecounted == 0) {
+                break;
+            }
+            ids = eventRepository.findIdsWithStaleParticipantCounters(PageRequest.of(0, BATCH_SIZE));
+        }
+        if (recounted > 0) {
+            publicFeedCache.invalidateAll();
+            logger.info("Contadores de participantes recalculados para " + recounted + " eventos");
+        }
+    }
+
+    private void adjust(Long eventId, ParticipantStatus status, int step) {
+        counted(eventId, eventRepository.adjustParticipantCounters(eventId,
+                status == ParticipantStatus.INVITED ? step : 0,
+                status == ParticipantStatus.CONFIRMED ? step : 0,
+                status == ParticipantStatus.PRESENT ? step : 0,
+                status == ParticipantStatus.WAITLISTED ? step : 0,
+                status == ParticipantStatus.WAITLISTED ? 0 : step));
+    }
+
+    private boolean counted(Long eventId, int updated) {
+        if (updated > 0) {
+            publicFeedCache.evictCountersOf(eventId);
+        }
+        return updated > 0;
+    }
+
+    private int delta(ParticipantStatus counted, ParticipantStatus from, ParticipantStatus to) {
+        return (to == counted ? 1 : 0) - (from == counted ? 1 : 0);
+    }
+}
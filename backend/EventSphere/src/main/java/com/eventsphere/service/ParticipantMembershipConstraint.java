@@ -0,0 +1,81 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.EventParticipant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Bases MySQL antigas podem ter o mesmo usuário mais de uma vez no mesmo evento, o que impede o
+ * ddl-auto=update de criar a restrição única de EventParticipant. Na subida, se ela não existir e não houver
+ * repetições, a restrição é criada. Havendo repetições, a aplicação não sobe e informa as linhas envolvidas,
+ * a menos que a limpeza tenha sido pedida (event.participants.remove-duplicates=true): aí as linhas repetidas
+ * são removidas e registradas no log (fica a do colaborador, depois a de situação mais avançada, depois a mais
+ * antiga). Os contadores do Event são corrigidos pela reconciliação periódica.
+ */
+@Component
+public class ParticipantMembershipConstraint {
+
+    private static final Logger logger = Logger.getLogger(ParticipantMembershipConstraint.class.getName());
+
+    private static final String DUPLICATES =
+            "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY event_id, user_id " +
+            "ORDER BY is_collaborator DESC, FIELD(current_status, 'PRESENT', 'CONFIRMED', 'PENDING', 'INVITED', 'WAITLISTED'), id) AS n " +
+            "FROM event_participant) ranked WHERE n > 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${event.participants.remove-duplicates:false}")
+    private boolean removeDuplicates;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void ensureUniqueMembership() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database) || constraintExists()) {
+            return;
+        }
+        List<Long> duplicates = jdbcTemplate.queryForList(DUPLICATES + " ORDER BY id", Long.class);
+        if (!duplicates.isEmpty()) {
+            if (!removeDuplicates) {
+                throw new IllegalStateException("Participações repetidas impedem a criação da restrição " +
+                        EventParticipant.UNIQUE_MEMBERSHIP + " (ids de event_participant a remover: " + duplicates +
+                        "); revise-as ou suba com event.participants.remove-duplicates=true para removê-las");
+            }
+            logger.warning("Removendo participações repetidas (ids de event_participant): " + duplicates);
+            jdbcTemplate.update("DELETE FROM participant_history WHERE participant_id IN (" + DUPLICATES + ")");
+            int removed = jdbcTemplate.update("DELETE FROM event_participant WHERE id IN (" + DUPLICATES + ")");
+            logger.warning("Participações repetidas removidas: " + removed);
+        }
+        try {
+            jdbcTemplate.execute("ALTER TABLE event_participant ADD CONSTRAINT " + EventParticipant.UNIQUE_MEMBERSHIP +
+                    " UNIQUE (event_id, user_id)");
+        } catch (DataAccessException e) {
+            // Outra réplica subindo ao mesmo tempo pode ter criado a restrição primeiro
+            if (!constraintExists()) {
+                throw e;
+            }
+            return;
+        }
+        logger.info("Restrição " + EventParticipant.UNIQUE_MEMBERSHIP + " criada");
+    }
+
+    private boolean constraintExists() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'event_participant' AND INDEX_NAME = ?",
+                Integer.class, EventParticipant.UNIQUE_MEMBERSHIP);
+        return existing != null && existing > 0;
+    }
+}
@@ -7,19 +7,25 @@ import com.eventsphere.entity.event.ParticipantStatus;
 import com.eventsphere.entity.event.State;
 import com.eventsphere.entity.user.User;
 import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.ParticipantHistoryRepository;
 import com.eventsphere.repository.ParticipantRepository;
 import com.eventsphere.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class ParticipantService {
     @Autowired
     private ParticipantRepository participantRepository;
     @Autowired
+    private ParticipantHistoryRepository participantHistoryRepository;
+    @Autowired
     private EventRepository eventRepository;
     @Autowired
     private UserRepository userRepository;
@@ -27,12 +33,23 @@ public class ParticipantService {
     private EventService eventService;
     @Autowired
     private QrCodeService qrCodeService;
+    @Autowired
+    private ParticipantCounters participantCounters;
+    @Autowired
+    private EventWaitlist eventWaitlist;
+    @Autowired
+    private SeatHolds seatHolds;
+
+    private static final int MAX_BULK_SIZE = 1000;
+
+    private enum BulkAction { CONFIRM, REMOVE, PROMOTE, DEMOTE, CHANGE_STATUS }
 
     public void updateParticipantStatus(Long eventId, Long userId, ParticipantStatus newStatus) {
         EventParticipant participant = participantRepository.findByEventIdAndUserId(eventId, userId);
         if (participant == null) {
             throw new IllegalStateException("Participante não encontrado!");
         }
+        ParticipantStatus previousStatus = participant.getCurrentStatus();
         ParticipantHistory history = new ParticipantHistory();
         history.setParticipant(participant);
         history.setStatus(participant.getCurrentStatus());
@@ -40,9 +57,11 @@ public class ParticipantService {
         participant.getParticipantHistory().add(history);
         participant.setCurrentStatus(newStatus);
         participantRepository.save(participant);
+        participantCounters.changed(eventId, previousStatus, newStatus);
     }
 
-    public Event addParticipantByInvite(Long userID, String inviteToken, String inviteCode) {
+    @Transactional
+    public EventParticipant addParticipantByInvite(Long userID, String inviteToken, String inviteCode) {
         if (inviteToken == null || inviteToken.isBlank()) {
             throw new IllegalArgumentException("Token do convite é obrigatório");
         }
@@ -57,37 +76,47 @@ public class ParticipantService {
                 throw new IllegalArgumentException("Código do convite inválido");
             }
         }
-        validateEventAcceptsParticipants(event.get());
-        if (event.get().getParticipants() == null) {
-            event.get().setParticipants(new java.util.ArrayList<>());
-        }
-        boolean alreadyParticipating = event.get().getParticipants().stream()
-                .anyMatch(p -> p.getUser().getId().equals(user.getId()));
-        if (alreadyParticipating) {
-            throw new IllegalArgumentException("Usuário já é participante deste evento");
-        }
+        return joinByInvite(event.get(), user);
+    }
+
+    /**
+     * Entrada de um usuário pelo convite já conferido (token e código), com a mesma admissão das demais
+     * entradas. Usada também no cadastro pelo convite (UserService.registerUserByInvite).
+     */
+    @Transactional
+    public EventParticipant joinByInvite(Event event, User user) {
+        validateEventAcceptsParticipants(event);
         EventParticipant participant = new EventParticipant();
-        participant.setEvent(event.orElse(null));
+        participant.setEvent(event);
         participant.setUser(user);
-        participant.setCurrentStatus(com.eventsphere.entity.event.ParticipantStatus.INVITED);
-        event.get().getParticipants().add(participant);
-        eventRepository.save(event.get());
-        return event.orElse(null);
+        participant.setCurrentStatus(admit(event, user.getId()));
+        insert(participant, "Usuário já é participante deste evento");
+        enqueueIfWaiting(participant);
+        return participant;
     }
 
+    @Transactional
     public Event removeParticipant(Long eventID, Long userID) {
         Event event = eventRepository.findById(eventID)
                 .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado!"));
         validateEventForModification(event);
-        User user = userRepository.findById(userID)
-                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado!"));
-        boolean alreadyParticipating = event.getParticipants().stream()
-                .anyMatch(p -> p.getUser().equals(user));
-        if (alreadyParticipating) {
-            event.getParticipants().removeIf(p -> p.getUser().equals(user));
-            return eventRepository.save(event);
+        if (!userRepository.existsById(userID)) {
+            throw new IllegalArgumentException("Usuário não encontrado!");
+        }
+        // A linha fica travada desde a leitura, então o contador descontado é o da situação removida
+        Membership removed = membership(eventID, userID);
+        if (removed == null) {
+            throw new IllegalArgumentException("Usuário não está participando do evento para ser removido.");
+        }
+        participantHistoryRepository.deleteByParticipantId(removed.id());
+        participantRepository.deleteMembership(removed.id());
+        participantCounters.left(eventID, removed.status());
+        if (removed.status() == ParticipantStatus.WAITLISTED) {
+            eventWaitlist.dequeue(eventID, removed.id());
+        } else {
+            eventWaitlist.promote(eventID);
         }
-        throw new IllegalArgumentException("Usuário não está participando do evento para ser removido.");
+        return event;
     }
 
     public void authorizeRemoveParticipant(Long eventID, Long userID, Long ownerID) {
@@ -107,7 +136,8 @@ public class ParticipantService {
         return userRepository.findByUsername(username);
     }
 
-    public Event joinPublicEvent(Long eventId, Long userId) {
+    @Transactional
+    public EventParticipant joinPublicEvent(Long eventId, Long userId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado!"));
         if (event.getAcess() != com.eventsphere.entity.event.Acess.PUBLIC) {
@@ -116,32 +146,26 @@ public class ParticipantService {
         validateEventAcceptsParticipants(event);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado!"));
-        if (event.getParticipants() == null) {
-            event.setParticipants(new java.util.ArrayList<>());
-        }
-        boolean alreadyParticipating = event.getParticipants().stream()
-                .anyMatch(p -> p.getUser().getId().equals(userId));
-        if (alreadyParticipating) {
-            throw new IllegalArgumentException("Usuário já é participante deste evento");
-        }
         EventParticipant participant = new EventParticipant();
         participant.setEvent(event);
         participant.setUser(user);
-        participant.setCurrentStatus(ParticipantStatus.INVITED);
+        participant.setCurrentStatus(admit(event, user.getId()));
         participant.setIsCollaborator(false);
         ParticipantHistory history = new ParticipantHistory();
         history.setParticipant(participant);
-        history.setStatus(ParticipantStatus.INVITED);
+        history.setStatus(participant.getCurrentStatus());
         history.setChangeTimestamp(LocalDateTime.now());
         if (participant.getParticipantHistory() == null) {
             participant.setParticipantHistory(new ArrayList<>());
         }
         participant.getParticipantHistory().add(history);
-        event.getParticipants().add(participant);
-        return eventRepository.save(event);
+        insert(participant, "Usuário já é participante deste evento");
+        enqueueIfWaiting(participant);
+        return participant;
     }
 
-    public Event joinPublicEventFromRequest(Object eventIdObj, Long userId) {
+    @Transactional
+    public EventParticipant joinPublicEventFromRequest(Object eventIdObj, Long userId) {
         if (eventIdObj == null) {
             throw new IllegalArgumentException("ID do evento é obrigatório");
         }
@@ -158,6 +182,7 @@ public class ParticipantService {
         return joinPublicEvent(eventId, userId);
     }
 
+    @Transactional
     public void confirmParticipant(Long eventId, Long userId, Long authUserId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado"));
@@ -165,12 +190,18 @@ public class ParticipantService {
         if (!userId.equals(authUserId)) {
             authorizeEventManagement(event, authUserId);
         }
-        EventParticipant participant = event.getParticipants().stream()
-                .filter(p -> p.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Participante não encontrado no evento"));
-        participant.setCurrentStatus(ParticipantStatus.CONFIRMED);
-        participantRepository.save(participant);
+        Membership participant = membership(eventId, userId);
+        if (participant == null) {
+            throw new IllegalArgumentException("Participante não encontrado no evento");
+        }
+        if (participant.status() == ParticipantStatus.WAITLISTED) {
+            throw new IllegalArgumentException("Participante ainda está na lista de espera deste evento");
+        }
+        if (participant.status() == ParticipantStatus.CONFIRMED) {
+            return;
+        }
+        participantRepository.updateStatus(participant.id(), ParticipantStatus.CONFIRMED);
+        participantCounters.changed(eventId, participant.status(), ParticipantStatus.CONFIRMED);
     }
 
     public void promoteToCollaborator(Long eventId, Long userId, Long authUserId) {
@@ -180,12 +211,9 @@ public class ParticipantService {
         if (!event.getOwner().getId().equals(authUserId)) {
             throw new SecurityException("Apenas o organizador pode promover colaboradores");
         }
-        EventParticipant participant = event.getParticipants().stream()
-                .filter(p -> p.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Participante não encontrado no evento"));
-        participant.setIsCollaborator(true);
-        participantRepository.save(participant);
+        if (participantRepository.updateCollaborator(eventId, userId, true) == 0) {
+            throw new IllegalArgumentException("Participante não encontrado no evento");
+        }
     }
 
     public void demoteCollaborator(Long eventId, Long userId, Long authUserId) {
@@ -195,24 +223,20 @@ public class ParticipantService {
         if (!event.getOwner().getId().equals(authUserId)) {
             throw new SecurityException("Apenas o organizador pode remover colaboradores");
         }
-        EventParticipant participant = event.getParticipants().stream()
-                .filter(p -> p.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Participante não encontrado no evento"));
-        participant.setIsCollaborator(false);
-        participantRepository.save(participant);
+        if (participantRepository.updateCollaborator(eventId, userId, false) == 0) {
+            throw new IllegalArgumentException("Participante não encontrado no evento");
+        }
     }
 
     private void authorizeEventManagement(Event event, Long authUserId) {
         boolean isOwner = event.getOwner().getId().equals(authUserId);
-        boolean isCollaborator = event.getParticipants().stream()
-                .anyMatch(p -> p.getUser().getId().equals(authUserId) && p.isCollaborator());
-        if (!isOwner && !isCollaborator) {
+        if (!isOwner && !participantRepository.isCollaborator(event.getId(), authUserId)) {
             throw new SecurityException("Usuário não tem permissão para gerenciar este evento");
         }
     }
 
-    public void joinEventWithInvite(Object eventIdObj, String inviteToken, Long userId) {
+    @Transactional
+    public EventParticipant joinEventWithInvite(Object eventIdObj, String inviteToken, Long userId) {
         Event event = eventService.validateInviteTokenAndGetEvent(inviteToken);
         if (event == null) {
             throw new IllegalArgumentException("Token de convite inválido ou expirado");
@@ -235,48 +259,97 @@ public class ParticipantService {
             throw new IllegalArgumentException("Token de convite não corresponde ao evento");
         }
         validateEventAcceptsParticipants(event);
-        boolean alreadyParticipating = event.getParticipants().stream()
-                .anyMatch(p -> p.getUser().getId().equals(userId));
-        if (alreadyParticipating) {
-            throw new IllegalArgumentException("Você já é um participante deste evento");
-        }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
         EventParticipant participant = new EventParticipant();
         participant.setEvent(event);
         participant.setUser(user);
-        participant.setCurrentStatus(ParticipantStatus.INVITED);
+        participant.setCurrentStatus(admit(event, user.getId()));
         participant.setIsCollaborator(false);
-        if (event.getParticipants() == null) {
-            event.setParticipants(new ArrayList<>());
-        }
-        event.getParticipants().add(participant);
-        participantRepository.save(participant);
+        insert(participant, "Você já é um participante deste evento");
+        enqueueIfWaiting(participant);
+        return participant;
     }
 
-    public void joinEventWithCode(String eventCode, Long userId) {
+    @Transactional
+    public EventParticipant joinEventWithCode(String eventCode, Long userId) {
         Event event = eventService.validateEventCodeAndGetEvent(eventCode);
         if (event == null) {
             throw new IllegalArgumentException("Código de evento inválido");
         }
         validateEventAcceptsParticipants(event);
-        boolean alreadyParticipating = event.getParticipants().stream()
-                .anyMatch(p -> p.getUser().getId().equals(userId));
-        if (alreadyParticipating) {
-            throw new IllegalArgumentException("Você já é um participante deste evento");
-        }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
         EventParticipant participant = new EventParticipant();
         participant.setEvent(event);
         participant.setUser(user);
-        participant.setCurrentStatus(ParticipantStatus.INVITED);
+        participant.setCurrentStatus(admit(event, user.getId()));
         participant.setIsCollaborator(false);
-        if (event.getParticipants() == null) {
-            event.setParticipants(new ArrayList<>());
+        insert(participant, "Você já é um participante deste evento");
+        enqueueIfWaiting(participant);
+        return participant;
+    }
+
+    /**
+     * Situação do usuário no evento e, se estiver na lista de espera, a posição dele na fila.
+     */
+    public Map<String, Object> getWaitlistStatus(Long eventId, Long userId) {
+        EventParticipant participant = participantRepository.findByEventIdAndUserId(eventId, userId);
+        if (participant == null) {
+            throw new IllegalArgumentException("Você não é participante deste evento");
+        }
+        return waitlistStatus(participant);
+    }
+
+    public Map<String, Object> waitlistStatus(EventParticipant participant) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("status", participant.getCurrentStatus().toString());
+        status.put("waitlistPosition", participant.getCurrentStatus() == ParticipantStatus.WAITLISTED
+                ? eventWaitlist.position(participant.getEvent().getId(), participant.getId()) : null);
+        return status;
+    }
+
+    private record Membership(Long id, ParticipantStatus status) {
+    }
+
+    private Membership membership(Long eventId, Long userId) {
+        List<Object[]> rows = participantRepository.lockMembership(eventId, userId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        return new Membership((Long) rows.get(0)[0], (ParticipantStatus) rows.get(0)[1]);
+    }
+
+    // Reserva a vaga antes de gravar o participante, usando a vaga guardada no convite se houver;
+    // com o evento lotado, ele entra na lista de espera
+    private ParticipantStatus admit(Event event, Long userId) {
+        boolean seated = participantCounters.reserveSeat(event.getId(), ParticipantStatus.INVITED, userId);
+        seatHolds.release(event.getId(), userId);
+        if (seated) {
+            return ParticipantStatus.INVITED;
+        }
+        participantCounters.joined(event.getId(), ParticipantStatus.WAITLISTED);
+        return ParticipantStatus.WAITLISTED;
+    }
+
+    // Grava direto: a restrição única (evento, usuário) barra a entrada repetida, inclusive entre requisições
+    // simultâneas, e a exceção desfaz a vaga já reservada junto com a transação
+    private void insert(EventParticipant participant, String alreadyParticipant) {
+        try {
+            participantRepository.save(participant);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+            if (cause.contains(EventParticipant.UNIQUE_MEMBERSHIP)) {
+                throw new IllegalArgumentException(alreadyParticipant);
+            }
+            throw e;
+        }
+    }
+
+    private void enqueueIfWaiting(EventParticipant participant) {
+        if (participant.getCurrentStatus() == ParticipantStatus.WAITLISTED) {
+            eventWaitlist.enqueue(participant.getEvent().getId(), participant.getId());
         }
-        event.getParticipants().add(participant);
-        participantRepository.save(participant);
     }
 
     private void validateEventAcceptsParticipants(Event event) {
@@ -309,6 +382,9 @@ public class ParticipantService {
         if (participant == null) {
             throw new IllegalArgumentException("Você não é participante deste evento");
         }
+        if (participant.getCurrentStatus() == ParticipantStatus.WAITLISTED) {
+            throw new IllegalArgumentException("Você está na lista de espera deste evento");
+        }
         
         if (participant.getEvent().getState() != com.eventsphere.entity.event.State.ACTIVE) {
             throw new IllegalArgumentException("QR Code só está disponível durante eventos ativos");
@@ -329,12 +405,13 @@ public class ParticipantService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado"));
         boolean isOwner = event.getOwner().getId().equals(userId);
-        boolean isCollaborator = event.getParticipants().stream()
-                .anyMatch(p -> p.getUser().getId().equals(userId) && p.isCollaborator());
-        if (!isOwner && !isCollaborator) {
+        if (!isOwner && !participantRepository.isCollaborator(eventId, userId)) {
             throw new IllegalArgumentException("Apenas organizadores podem ver o relatório de presença");
         }
-        List<EventParticipant> allParticipants = event.getParticipants();
+        // A lista de espera não tem vaga no evento, então não conta como presente nem ausente
+        List<EventParticipant> allParticipants = event.getParticipants().stream()
+                .filter(participant -> participant.getCurrentStatus() != ParticipantStatus.WAITLISTED)
+                .collect(Collectors.toList());
         List<Map<String, Object>> presentParticipants = new ArrayList<>();
         List<Map<String, Object>> absentParticipants = new ArrayList<>();
         for (EventParticipant participant : allParticipants) {
@@ -368,6 +445,140 @@ public class ParticipantService {
         removeParticipant(eventID, userID);
     }
 
+    /**
+     * Aplica uma ação (CONFIRM, REMOVE, PROMOTE, DEMOTE ou CHANGE_STATUS) a vários participantes do evento
+     * numa só transação: as linhas do lote são lidas e travadas numa consulta e alteradas com um comando
+     * para o lote todo. Devolve o resultado de cada usuário: UPDATED, REMOVED, UNCHANGED, NOT_PARTICIPANT ou
+     * WAITLISTED, já que quem está na lista de espera só sai dela pela promoção da fila. O organizador não
+     * pode ser removido nem ter a situação trocada em lote.
+     */
+    @Transactional
+    public Map<String, Object> bulkUpdate(Long eventId, Object actionObj, Object userIdsObj, Object statusObj, Long authUserId) {
+        BulkAction action = parseBulkAction(actionObj);
+        Set<Long> userIds = parseBulkUserIds(userIdsObj);
+        ParticipantStatus target = switch (action) {
+            case CONFIRM -> ParticipantStatus.CONFIRMED;
+            case CHANGE_STATUS -> parseBulkStatus(statusObj);
+            default -> null;
+        };
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado"));
+        validateEventForModification(event);
+        if (action == BulkAction.PROMOTE || action == BulkAction.DEMOTE) {
+            if (!event.getOwner().getId().equals(authUserId)) {
+                throw new SecurityException("Apenas o organizador pode alterar colaboradores");
+            }
+        } else {
+            authorizeEventManagement(event, authUserId);
+        }
+        if ((action == BulkAction.REMOVE || action == BulkAction.CHANGE_STATUS) && userIds.contains(event.getOwner().getId())) {
+            throw new IllegalArgumentException("O organizador do evento não pode ser removido nem ter a situação alterada");
+        }
+
+        Map<Long, String> results = new LinkedHashMap<>();
+        userIds.forEach(userId -> results.put(userId, "NOT_PARTICIPANT"));
+        List<Long> affected = new ArrayList<>();
+        List<Long> leftWaitlist = new ArrayList<>();
+        Map<ParticipantStatus, Integer> deltas = new EnumMap<>(ParticipantStatus.class);
+        for (Object[] row : participantRepository.lockMemberships(eventId, userIds)) {
+            Long participantId = (Long) row[1];
+            ParticipantStatus status = (ParticipantStatus) row[2];
+            boolean collaborator = (Boolean) row[3];
+            String outcome = switch (action) {
+                case CONFIRM, CHANGE_STATUS -> status == ParticipantStatus.WAITLISTED ? "WAITLISTED"
+                        : status == target ? "UNCHANGED" : "UPDATED";
+                case PROMOTE -> collaborator ? "UNCHANGED" : "UPDATED";
+                case DEMOTE -> collaborator ? "UPDATED" : "UNCHANGED";
+                case REMOVE -> "REMOVED";
+            };
+            results.put((Long) row[0], outcome);
+            if (outcome.equals("UNCHANGED") || outcome.equals("WAITLISTED")) {
+                continue;
+            }
+            affected.add(participantId);
+            if (target != null) {
+                deltas.merge(status, -1, Integer::sum);
+                deltas.merge(target, 1, Integer::sum);
+            } else if (action == BulkAction.REMOVE) {
+                deltas.merge(status, -1, Integer::sum);
+                if (status == ParticipantStatus.WAITLISTED) {
+                    leftWaitlist.add(participantId);
+                }
+            }
+        }
+
+        if (!affected.isEmpty()) {
+            switch (action) {
+                case CONFIRM, CHANGE_STATUS -> {
+                    participantRepository.updateStatusByIdIn(affected, target);
+                    participantHistoryRepository.insertCurrentStatus(affected, LocalDateTime.now());
+                }
+                case PROMOTE, DEMOTE -> participantRepository.updateCollaboratorByIdIn(affected, action == BulkAction.PROMOTE);
+                case REMOVE -> {
+                    participantHistoryRepository.deleteByParticipantIdIn(affected);
+                    participantRepository.deleteByIdIn(affected);
+                }
+            }
+            participantCounters.adjust(eventId, deltas);
+            leftWaitlist.forEach(participantId -> eventWaitlist.dequeue(eventId, participantId));
+            if (action == BulkAction.REMOVE && affected.size() > leftWaitlist.size()) {
+                eventWaitlist.promote(eventId);
+            }
+        }
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("action", action.name());
+        report.put("affected", affected.size());
+        report.put("results", results);
+        return report;
+    }
+
+    private BulkAction parseBulkAction(Object actionObj) {
+        if (actionObj == null || actionObj.toString().isBlank()) {
+            throw new IllegalArgumentException("Ação é obrigatória");
+        }
+        try {
+            return BulkAction.valueOf(actionObj.toString().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ação inválida: " + actionObj);
+        }
+    }
+
+    private Set<Long> parseBulkUserIds(Object userIdsObj) {
+        if (!(userIdsObj instanceof Collection<?> values) || values.isEmpty()) {
+            throw new IllegalArgumentException("Informe a lista de usuários");
+        }
+        if (values.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("No máximo " + MAX_BULK_SIZE + " usuários por operação");
+        }
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Object value : values) {
+            try {
+                userIds.add(value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("ID de usuário inválido: " + value);
+            }
+        }
+        return userIds;
+    }
+
+    // Lista de espera e presença têm fluxo próprio (promoção da fila e leitura do QR Code)
+    private ParticipantStatus parseBulkStatus(Object statusObj) {
+        if (statusObj == null || statusObj.toString().isBlank()) {
+            throw new IllegalArgumentException("Situação é obrigatória");
+        }
+        ParticipantStatus status;
+        try {
+            status = ParticipantStatus.valueOf(statusObj.toString().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Situação inválida: " + statusObj);
+        }
+        if (status == ParticipantStatus.WAITLISTED || status == ParticipantStatus.PRESENT) {
+            throw new IllegalArgumentException("Situação não pode ser alterada em lote: " + status);
+        }
+        return status;
+    }
+
     public Object markPresenceByToken(String token, Long authUserId) {
         if (token == null || token.trim().isEmpty()) {
             throw new IllegalArgumentException("Token não pode ser vazio");
@@ -413,8 +624,10 @@ public class ParticipantService {
             throw new IllegalStateException("O participante já está presente");
         }
         
+        ParticipantStatus previousStatus = participant.getCurrentStatus();
         participant.setCurrentStatus(ParticipantStatus.PRESENT);
         participantRepository.save(participant);
+        participantCounters.changed(eventId, previousStatus, ParticipantStatus.PRESENT);
         
         ParticipantHistory history = new ParticipantHistory();
         history.setParticipant(participant);
@@ -0,0 +1,59 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.ParticipantStatus;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * No MySQL as colunas de ParticipantStatus são criadas como ENUM, e o ddl-auto=update não acrescenta
+ * valores novos (como WAITLISTED) a colunas existentes. Amplia essas colunas na subida, depois que o
+ * Hibernate atualiza o esquema e antes de o servidor web aceitar requisições, para que nenhuma gravação
+ * encontre a coluna antiga. Nos demais bancos nada é alterado.
+ */
+@Component
+public class ParticipantStatusColumns implements SmartInitializingSingleton {
+
+    private static final Logger logger = Logger.getLogger(ParticipantStatusColumns.class.getName());
+
+    // Tabela e coluna de cada uso de ParticipantStatus
+    private static final List<String[]> COLUMNS = List.of(
+            new String[]{"event_participant", "current_status"},
+            new String[]{"participant_history", "status"});
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        widenEnumColumns();
+    }
+
+    public void widenEnumColumns() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database)) {
+            return;
+        }
+        String values = Arrays.stream(ParticipantStatus.values())
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(","));
+        for (String[] column : COLUMNS) {
+            List<String> types = jdbcTemplate.queryForList(
+                    "SELECT COLUMN_TYPE FROM INFORMATION_SCHEMA.COLUMNS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ? AND DATA_TYPE = 'enum'",
+                    String.class, column[0], column[1]);
+            if (types.isEmpty() || Arrays.stream(ParticipantStatus.values()).allMatch(status -> types.get(0).contains("'" + status.name() + "'"))) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + column[0] + " MODIFY COLUMN " + column[1] + " ENUM(" + values + ") NOT NULL");
+            logger.info("Coluna " + column[0] + "." + column[1] + " ampliada para os valores de ParticipantStatus");
+        }
+    }
+}
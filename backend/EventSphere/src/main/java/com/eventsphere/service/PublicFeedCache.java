@@ -0,0 +1,104 @@
+package com.eventsphere.service;
+
+import com.eventsphere.dto.EventPageDTO;
+import com.eventsphere.dto.PublicEventFilter;
+import com.eventsphere.entity.event.Acess;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.State;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória das páginas do catálogo público (/public e /next-events?type=public), que são iguais
+ * para todos os usuários. Guarda só a parte independente do usuário; os vínculos de quem consulta são
+ * aplicados depois, sobre uma cópia. Qualquer mudança em evento público descarta o cache inteiro, porque
+ * as páginas keyset se deslocam. Mudança só nos contadores de participantes não desloca a ordem: descarta
+ * as páginas que contêm o evento e as filtradas por vagas, onde ele pode entrar ou sair.
+ */
+@Component
+public class PublicFeedCache {
+
+    public static final String CACHE_NAME = "eventsphere.public-feed";
+
+    private record PageKey(List<State> states, Integer classification, LocalDateTime startsFrom, LocalDateTime startsBefore,
+                           Boolean hasFreeSeats, boolean descending, String cursor, int size) {
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${event.feed-cache.max-pages:1000}")
+    private long maxPages;
+
+    @Value("${event.feed-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private Cache<PageKey, EventPageDTO> pages;
+
+    @PostConstruct
+    public void init() {
+        pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+    }
+
+    public EventPageDTO get(List<State> states, PublicEventFilter filter, boolean descending, String cursor, int size,
+                            Supplier<EventPageDTO> loader) {
+        PageKey key = new PageKey(states, filter.getClassification(), filter.getStartsFrom(), filter.getStartsBefore(),
+                filter.getHasFreeSeats(), descending, cursor == null ? "" : cursor, size);
+        return pages.get(key, k -> loader.get());
+    }
+
+    public void evictIfPublic(Event event) {
+        if (event != null && event.getAcess() == Acess.PUBLIC) {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        afterCommit(pages::invalidateAll);
+    }
+
+    /**
+     * Descarta as páginas afetadas pela mudança nos contadores do evento.
+     */
+    public void evictCountersOf(Long eventId) {
+        afterCommit(() -> evictPagesWith(eventId));
+    }
+
+    // Dentro de uma transação, o descarte só vale depois do commit; antes disso uma leitura concorrente
+    // guardaria de novo o estado antigo
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private void evictPagesWith(Long eventId) {
+        pages.asMap().entrySet().removeIf(page -> page.getKey().hasFreeSeats() != null
+                || page.getValue().getEvents().stream().anyMatch(event -> eventId.equals(event.getId())));
+    }
+}
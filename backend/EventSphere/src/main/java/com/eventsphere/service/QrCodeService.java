@@ -39,6 +39,9 @@ public class QrCodeService {
     @Autowired
     private ParticipantHistoryRepository historyRepository;
 
+    @Autowired
+    private ParticipantCounters participantCounters;
+
     public String createQrCode(Long participantId) {
         try {
             int token = 100000 + new SecureRandom().nextInt(900000);
@@ -129,8 +132,10 @@ public class QrCodeService {
             throw new IllegalArgumentException("Só é possível confirmar presença em eventos ativos");
         }
         
+        ParticipantStatus previousStatus = participant.getCurrentStatus();
         participant.setCurrentStatus(ParticipantStatus.PRESENT);
         participantRepository.save(participant);
+        participantCounters.changed(participant.getEvent().getId(), previousStatus, ParticipantStatus.PRESENT);
         logParticipantHistory(participant, ParticipantStatus.PRESENT);
         
         logger.info("Presença confirmada para participante " + participant.getId() + " com token " + token);
@@ -0,0 +1,113 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.scheduler.SchedulerLease;
+import com.eventsphere.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Eleição de líder entre réplicas do backend através de um lease gravado no banco.
+ * Apenas a réplica que detém o lease executa os jobs de transição de estado; se ela parar de
+ * renovar, outra assume assim que o lease expira e recebe um fencing token maior.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private static final Logger logger = Logger.getLogger(SchedulerLeaseService.class.getName());
+
+    public static final String EVENT_TRANSITIONS_LEASE = "event-transitions";
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Value("${scheduler.lease.ttl-ms:15000}")
+    private long ttlMs;
+
+    private final String holder;
+
+    private volatile long fencingToken = -1;
+    private volatile LocalDateTime heldUntil = LocalDateTime.MIN;
+
+    public SchedulerLeaseService(@Value("${scheduler.lease.holder:}") String configuredHolder) {
+        this.holder = configuredHolder == null || configuredHolder.isBlank() ? defaultHolder() : configuredHolder;
+    }
+
+    @Scheduled(fixedRateString = "${scheduler.lease.renew-ms:5000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusNanos(ttlMs * 1_000_000);
+        long previousToken = fencingToken;
+        try {
+            long token = acquireOrRenew(now, expiresAt);
+            fencingToken = token;
+            heldUntil = token >= 0 ? expiresAt : LocalDateTime.MIN;
+            if (token >= 0 && token != previousToken) {
+                logger.info("Lease " + EVENT_TRANSITIONS_LEASE + " assumido por " + holder + " (token " + token + ")");
+            } else if (token < 0 && previousToken >= 0) {
+                logger.warning("Lease " + EVENT_TRANSITIONS_LEASE + " perdido por " + holder);
+            }
+        } catch (Exception e) {
+            logger.warning("Erro ao renovar lease " + EVENT_TRANSITIONS_LEASE + ": " + e.getMessage());
+        }
+    }
+
+    public boolean isLeader() {
+        return fencingToken >= 0 && LocalDateTime.now().isBefore(heldUntil);
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public String getHolder() {
+        return holder;
+    }
+
+    @PreDestroy
+    public void release() {
+        if (fencingToken >= 0) {
+            leaseRepository.release(EVENT_TRANSITIONS_LEASE, holder, fencingToken, LocalDateTime.now());
+            fencingToken = -1;
+        }
+    }
+
+    private long acquireOrRenew(LocalDateTime now, LocalDateTime expiresAt) {
+        if (fencingToken >= 0 && leaseRepository.renew(EVENT_TRANSITIONS_LEASE, holder, fencingToken, now, expiresAt) == 1) {
+            return fencingToken;
+        }
+        if (leaseRepository.takeOver(EVENT_TRANSITIONS_LEASE, holder, now, expiresAt) == 1) {
+            return leaseRepository.findById(EVENT_TRANSITIONS_LEASE)
+                    .filter(lease -> holder.equals(lease.getHolder()))
+                    .map(SchedulerLease::getFencingToken)
+                    .orElse(-1L);
+        }
+        if (!leaseRepository.existsById(EVENT_TRANSITIONS_LEASE)) {
+            try {
+                leaseRepository.create(EVENT_TRANSITIONS_LEASE, holder, expiresAt);
+                return 1;
+            } catch (DataIntegrityViolationException e) {
+                // Outra réplica criou o lease ao mesmo tempo
+            }
+        }
+        return -1;
+    }
+
+    private static String defaultHolder() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "backend";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
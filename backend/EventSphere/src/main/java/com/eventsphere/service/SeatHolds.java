@@ -0,0 +1,191 @@
+package com.eventsphere.service;
+
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.SeatHold;
+import com.eventsphere.entity.event.State;
+import com.eventsphere.repository.ParticipantRepository;
+import com.eventsphere.repository.SeatHoldRepository;
+import com.eventsphere.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Vagas guardadas por alguns minutos para o usuário logado que abre o convite de um evento, para que a
+ * vaga não seja ocupada enquanto ele decide. Quem abre o convite sem estar logado só vê a prévia do evento;
+ * a vaga é guardada quando ele volta ao convite depois de entrar, e quem cria a conta pelo convite já entra
+ * direto no evento. A reserva é uma linha de SeatHold e é considerada pelo UPDATE condicional que ocupa
+ * vagas (EventRepository.reserveSeat); o Event não é alterado nem travado para criá-la. Cada réplica apaga
+ * as reservas que criou assim que vencem, por uma roda de tempo em memória montada na subida a partir das
+ * existentes; a réplica líder ainda varre o banco periodicamente pelas vencidas que nenhuma roda apagou
+ * (criadas por uma réplica que caiu, por exemplo). A vaga liberada vai para a lista de espera.
+ */
+@Component
+public class SeatHolds {
+
+    private static final Logger logger = Logger.getLogger(SeatHolds.class.getName());
+
+    private static final int WHEEL_SIZE = 512;
+
+    private record Entry(Long holdId, Long eventId, long deadlineTick) {
+    }
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventWaitlist eventWaitlist;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Value("${event.seat-holds.minutes:10}")
+    private long holdMinutes;
+
+    @Value("${event.seat-holds.tick-ms:1000}")
+    private long tickMs;
+
+    // Cada posição guarda as reservas que vencem em ticks congruentes a ela; as de voltas futuras ficam até a sua vez
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Entry>[] wheel = new ArrayDeque[WHEEL_SIZE];
+
+    private long lastTick = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = 0;
+        for (Object[] row : seatHoldRepository.findAllExpirations()) {
+            schedule((Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+            loaded++;
+        }
+        if (loaded > 0) {
+            logger.info("Reservas de vaga carregadas: " + loaded);
+        }
+    }
+
+    /**
+     * Guarda uma vaga do evento para o usuário e devolve até quando ela vale, ou null se o evento não
+     * limita vagas, não aceita mais participantes, já está lotado ou o usuário já participa. Uma reserva
+     * ainda válida é devolvida como está, sem ser prorrogada.
+     */
+    @Transactional
+    public LocalDateTime hold(Event event, Long userId) {
+        if (event.getMaxParticipants() <= 0 || event.getState() != State.CREATED
+                || participantRepository.findByEventIdAndUserId(event.getId(), userId) != null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SeatHold existing = seatHoldRepository.findByEventIdAndUserId(event.getId(), userId);
+        if (existing != null) {
+            if (existing.getExpiresAt().isAfter(now)) {
+                return existing.getExpiresAt();
+            }
+            seatHoldRepository.deleteByEventIdAndUserId(event.getId(), userId);
+        }
+        // Leitura sem trava: duas reservas simultâneas podem levar a última vaga, mas a entrada no evento
+        // continua limitada pela capacidade, então isso nunca gera superlotação
+        long held = seatHoldRepository.countActiveExcludingUser(event.getId(), userId, now);
+        if (event.getTotalCount() + held >= event.getMaxParticipants()) {
+            return null;
+        }
+        SeatHold seatHold = seatHoldRepository.save(new SeatHold(event, userRepository.getReferenceById(userId),
+                now.plusMinutes(holdMinutes)));
+        schedule(seatHold.getId(), event.getId(), seatHold.getExpiresAt());
+        return seatHold.getExpiresAt();
+    }
+
+    // Chamado ao entrar no evento: a vaga guardada já foi ocupada pelo próprio usuário
+    public void release(Long eventId, Long userId) {
+        seatHoldRepository.deleteByEventIdAndUserId(eventId, userId);
+    }
+
+    @Scheduled(fixedRateString = "${event.seat-holds.tick-ms:1000}")
+    public void sweep() {
+        List<Entry> expired = advance(currentTick());
+        if (expired.isEmpty()) {
+            return;
+        }
+        seatHoldRepository.deleteByIdIn(expired.stream().map(Entry::holdId).toList());
+        // Reservas já convertidas em participação também passam por aqui; a promoção só ocupa vaga que esteja livre
+        for (Long eventId : expired.stream().map(Entry::eventId).distinct().toList()) {
+            eventWaitlist.promote(eventId);
+        }
+    }
+
+    /**
+     * Apaga as reservas vencidas que nenhuma roda de tempo apagou e promove a lista de espera dos eventos
+     * afetados. Só a réplica líder varre a tabela.
+     */
+    @Scheduled(fixedRateString = "${event.seat-holds.purge-ms:60000}", initialDelayString = "${event.seat-holds.purge-ms:60000}")
+    public void purgeExpired() {
+        if (!leaseService.isLeader()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> eventIds = seatHoldRepository.findEventIdsWithExpired(now);
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        int purged = seatHoldRepository.deleteExpired(now);
+        for (Long eventId : eventIds) {
+            eventWaitlist.promote(eventId);
+        }
+        logger.info("Reservas de vaga vencidas apagadas: " + purged + " em " + eventIds.size() + " eventos");
+    }
+
+    private synchronized void schedule(Long holdId, Long eventId, LocalDateTime expiresAt) {
+        long deadlineTick = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / tickMs;
+        // Reserva já vencida vai para o próximo tick
+        if (lastTick >= 0 && deadlineTick <= lastTick) {
+            deadlineTick = lastTick + 1;
+        }
+        int slot = (int) (deadlineTick % WHEEL_SIZE);
+        if (wheel[slot] == null) {
+            wheel[slot] = new ArrayDeque<>();
+        }
+        wheel[slot].add(new Entry(holdId, eventId, deadlineTick));
+    }
+
+    // Percorre as posições dos ticks desde a última varredura; uma volta inteira já passa por todas
+    private synchronized List<Entry> advance(long tick) {
+        List<Entry> expired = new ArrayList<>();
+        long from = lastTick < 0 ? tick - WHEEL_SIZE + 1 : lastTick + 1;
+        for (long t = Math.max(from, tick - WHEEL_SIZE + 1); t <= tick; t++) {
+            ArrayDeque<Entry> entries = wheel[(int) (t % WHEEL_SIZE)];
+            if (entries == null) {
+                continue;
+            }
+            for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.deadlineTick() <= tick) {
+                    expired.add(entry);
+                    it.remove();
+                }
+            }
+        }
+        lastTick = tick;
+        return expired;
+    }
+
+    private long currentTick() {
+        return System.currentTimeMillis() / tickMs;
+    }
+}
@@ -14,9 +14,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +47,15 @@ public class UserService {
     @Autowired
     private ParticipantRepository participantRepository;
 
+    @Autowired
+    private ParticipantCounters participantCounters;
+
+    @Autowired
+    private EventWaitlist eventWaitlist;
+
+    @Autowired
+    private ParticipantService participantService;
+
     public UserService(PasswordEncoder passwordEncoder) {
         this.passwordEncoder = passwordEncoder;
     }
@@ -94,7 +103,10 @@ public class UserService {
         }
         user.setPassword(encodedPassword);
         return userRepository.save(user);
-    }    public User registerUserByInvite(UserDTO userDTO, String inviteToken, String inviteCode) {
+    }
+
+    @Transactional
+    public User registerUserByInvite(UserDTO userDTO, String inviteToken, String inviteCode) {
         if (userDTO == null) {
             throw new IllegalArgumentException("Dados do usuário não informados");
         }
@@ -113,25 +125,7 @@ public class UserService {
         }
         
         User user = registerUser(userDTO);
-        
-        if (event.getParticipants() == null) {
-            event.setParticipants(new ArrayList<>());
-        }
-        
-        boolean alreadyParticipating = event.getParticipants().stream()
-                .anyMatch(p -> p.getUser().getUsername().equals(user.getUsername()));
-        if (alreadyParticipating) {
-            throw new IllegalArgumentException("Usuário já é participante deste evento");
-        }
-        
-        EventParticipant participant = new EventParticipant();
-        participant.setEvent(event);
-        participant.setUser(user);
-        participant.setCurrentStatus(ParticipantStatus.INVITED);
-        
-        event.getParticipants().add(participant);
-        eventRepository.save(event);
-        
+        participantService.joinByInvite(event, user);
         return user;
     }
 
@@ -189,6 +183,7 @@ public class UserService {
         userRepository.deleteById(userID);
     }
 
+    @Transactional
     public void deleteUserWithPasswordCheck(Long userId, String password) {
         User user = getUser(userId);
         if (user == null || !validatePassword(password, user.getPassword())){
@@ -202,6 +197,12 @@ public class UserService {
         for (EventParticipant ep : participations) {
             if (ep.getUser().getId().equals(userId)) {
                 participantRepository.delete(ep);
+                participantCounters.left(ep.getEvent().getId(), ep.getCurrentStatus());
+                if (ep.getCurrentStatus() == ParticipantStatus.WAITLISTED) {
+                    eventWaitlist.dequeue(ep.getEvent().getId(), ep.getId());
+                } else {
+                    eventWaitlist.promote(ep.getEvent().getId());
+                }
             }
         }
     }
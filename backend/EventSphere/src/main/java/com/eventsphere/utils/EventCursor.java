@@ -0,0 +1,61 @@
+package com.eventsphere.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de paginação keyset nas listagens de eventos, ordenadas por (fixedStartAt, id).
+ * O cliente recebe o cursor como texto opaco e o devolve para buscar a página seguinte.
+ */
+public class EventCursor {
+
+    // Limites do DATETIME do MySQL; a primeira página começa antes (ou, em ordem decrescente, depois) de qualquer evento
+    private static final EventCursor FIRST = new EventCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+    private static final EventCursor LAST = new EventCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime fixedStartAt;
+    private final Long id;
+
+    public EventCursor(LocalDateTime fixedStartAt, Long id) {
+        this.fixedStartAt = fixedStartAt;
+        this.id = id;
+    }
+
+    public static EventCursor decode(String cursor) {
+        return decode(cursor, FIRST);
+    }
+
+    public static EventCursor decodeDescending(String cursor) {
+        return decode(cursor, LAST);
+    }
+
+    private static EventCursor decode(String cursor, EventCursor firstPage) {
+        if (cursor == null || cursor.isBlank()) {
+            return firstPage;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+
+    public String encode() {
+        String raw = fixedStartAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getFixedStartAt() {
+        return fixedStartAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,44 @@
+package com.eventsphere;
+
+import com.eventsphere.entity.event.Acess;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.State;
+import com.eventsphere.entity.user.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entidades mínimas válidas para os testes de integração; nomes aleatórios evitam colisão entre testes
+ * que compartilham o mesmo banco.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static User user(String prefix) {
+        String username = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User(username, prefix, new HashSet<>(Set.of("USER")), username + "@eventsphere.test", LocalDateTime.now());
+        user.setPassword("{noop}secret");
+        return user;
+    }
+
+    public static Event event(User owner, int maxParticipants, LocalDateTime start) {
+        Event event = new Event();
+        event.setName("Evento " + UUID.randomUUID().toString().substring(0, 8));
+        event.setDescription("Evento de teste");
+        event.setLocalization("Auditório");
+        event.setDateFixedStart(start.toLocalDate());
+        event.setTimeFixedStart(start.toLocalTime().withNano(0));
+        event.setDateFixedEnd(start.plusHours(2).toLocalDate());
+        event.setTimeFixedEnd(start.plusHours(2).toLocalTime().withNano(0));
+        event.setMaxParticipants(maxParticipants);
+        event.setAcess(Acess.PUBLIC);
+        event.setState(State.CREATED);
+        event.setOwner(owner);
+        return event;
+    }
+}
@@ -0,0 +1,86 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.dto.EventSummaryDTO;
+import com.eventsphere.entity.event.Acess;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.ParticipantRepository;
+import com.eventsphere.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Escopo "mine" do calendário: junta os eventos em que o usuário é dono, participante ou colaborador,
+ * sem repetir o evento em que ele tem mais de um vínculo.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CalendarEventsTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void mineMergesEveryMembershipOnce() {
+        User user = userRepository.save(TestData.user("usuario"));
+        User other = userRepository.save(TestData.user("outro"));
+        // Mês só deste teste, para não depender dos eventos criados pelos demais
+        LocalDate month = LocalDate.of(2100 + ThreadLocalRandom.current().nextInt(800), 3, 1);
+
+        Event owned = save(TestData.event(user, 10, month.atTime(9, 0)));
+        Event participating = save(TestData.event(other, 10, month.plusDays(1).atTime(9, 0)));
+        join(participating, user, false);
+        Event collaborating = TestData.event(other, 10, month.plusDays(2).atTime(9, 0));
+        collaborating.setAcess(Acess.PRIVATE);
+        collaborating.setCollaborators(List.of(user));
+        collaborating = save(collaborating);
+        join(collaborating, user, true);
+        Event longRunning = TestData.event(other, 10, month.minusDays(40).atTime(9, 0));
+        longRunning.setDateFixedEnd(month.plusDays(5));
+        longRunning = save(longRunning);
+        join(longRunning, user, false);
+        save(TestData.event(other, 10, month.plusDays(3).atTime(9, 0)));
+
+        List<Long> ids = eventService.getCalendarEvents(user.getId(), month, month.plusDays(27), "mine").stream()
+                .map(EventSummaryDTO::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(longRunning.getId(), owned.getId(), participating.getId(), collaborating.getId()), ids);
+    }
+
+    private Event save(Event event) {
+        return eventRepository.save(event);
+    }
+
+    private void join(Event event, User user, boolean collaborator) {
+        EventParticipant participant = new EventParticipant();
+        participant.setEvent(event);
+        participant.setUser(user);
+        participant.setCurrentStatus(ParticipantStatus.CONFIRMED);
+        participant.setIsCollaborator(collaborator);
+        participantRepository.save(participant);
+    }
+}
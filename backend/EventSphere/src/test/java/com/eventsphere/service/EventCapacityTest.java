@@ -0,0 +1,215 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.ParticipantRepository;
+import com.eventsphere.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lotação dos eventos: nenhuma forma de entrada pode passar de maxParticipants.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventCapacityTest {
+
+    private static final Logger logger = Logger.getLogger(EventCapacityTest.class.getName());
+
+    private static final int JOINERS = 1000;
+    private static final int CAPACITY = 50;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ParticipantCounters participantCounters;
+
+    @Test
+    void concurrentJoinersNeverExceedCapacity() throws Exception {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, CAPACITY, LocalDateTime.now().plusDays(1)));
+        List<User> joiners = new ArrayList<>();
+        for (int i = 0; i < JOINERS; i++) {
+            joiners.add(TestData.user("participante"));
+        }
+        joiners = userRepository.saveAll(joiners);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> joins = new ArrayList<>();
+        try {
+            for (User joiner : joiners) {
+                joins.add(executor.submit(() -> {
+                    start.await();
+                    return participantService.joinPublicEvent(event.getId(), joiner.getId());
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> join : joins) {
+                join.get(2, TimeUnit.MINUTES);
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            logger.info(String.format("%d entradas simultâneas em %.2f s (%.0f/s)", JOINERS, seconds, JOINERS / seconds));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<ParticipantStatus, Long> rows = new EnumMap<>(ParticipantStatus.class);
+        for (Object[] row : participantRepository.countCurrentStatus(event.getId())) {
+            rows.put((ParticipantStatus) row[0], (Long) row[1]);
+        }
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(CAPACITY, saved.getTotalCount());
+        assertEquals(CAPACITY, rows.getOrDefault(ParticipantStatus.INVITED, 0L));
+        assertEquals(JOINERS - CAPACITY, rows.getOrDefault(ParticipantStatus.WAITLISTED, 0L));
+        assertEquals(JOINERS - CAPACITY, saved.getWaitlistedCount());
+    }
+
+    @Test
+    void concurrentConfirmAndLeaveKeepCountersExact() throws Exception {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, CAPACITY, LocalDateTime.now().plusDays(1)));
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            User member = userRepository.save(TestData.user("participante"));
+            participantService.joinPublicEvent(event.getId(), member.getId());
+            members.add(member);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> changes = new ArrayList<>();
+        try {
+            for (User member : members) {
+                changes.add(executor.submit(() -> {
+                    start.await();
+                    participantService.confirmParticipant(event.getId(), member.getId(), owner.getId());
+                    return null;
+                }));
+                changes.add(executor.submit(() -> {
+                    start.await();
+                    return participantService.removeParticipant(event.getId(), member.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<?> change : changes) {
+                try {
+                    change.get(2, TimeUnit.MINUTES);
+                } catch (ExecutionException e) {
+                    // Confirmação de quem já saiu do evento
+                    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(0, saved.getTotalCount());
+        assertEquals(0, saved.getInvitedCount());
+        assertEquals(0, saved.getConfirmedCount());
+    }
+
+    @Test
+    void waitlistedMembersAreNotParticipants() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        User seated = userRepository.save(TestData.user("participante"));
+        User waiting = userRepository.save(TestData.user("espera"));
+        participantService.joinPublicEvent(event.getId(), seated.getId());
+        participantService.joinPublicEvent(event.getId(), waiting.getId());
+
+        // Nas requisições a sessão fica aberta até o fim (open-in-view)
+        assertEquals("participant", transactionTemplate.execute(status ->
+                eventService.getEventWithUserInfo(event.getId(), seated.getId()).getUserStatus()));
+        assertEquals("waitlisted", transactionTemplate.execute(status ->
+                eventService.getEventWithUserInfo(event.getId(), waiting.getId()).getUserStatus()));
+
+        Map<String, Object> report = transactionTemplate.execute(status ->
+                participantService.generateAttendanceReport(event.getId(), owner.getId()));
+        assertEquals(1, report.get("totalParticipants"));
+        assertEquals(1, report.get("absentCount"));
+    }
+
+    @Test
+    void collaboratorNeedsAFreeSeat() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        participantService.joinPublicEvent(event.getId(), userRepository.save(TestData.user("participante")).getId());
+        User collaborator = userRepository.save(TestData.user("colaborador"));
+
+        assertThrows(IllegalStateException.class,
+                () -> eventService.addCollaborator(event.getId(), collaborator.getId(), owner.getId()));
+
+        assertEquals(1, eventRepository.findById(event.getId()).orElseThrow().getTotalCount());
+        assertNull(participantRepository.findByEventIdAndUserId(event.getId(), collaborator.getId()));
+    }
+
+    @Test
+    void startupRecountFillsCountersOfExistingParticipants() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        // Participante gravado antes de existirem os contadores: as colunas novas valem 0
+        EventParticipant participant = new EventParticipant();
+        participant.setEvent(event);
+        participant.setUser(userRepository.save(TestData.user("participante")));
+        participant.setCurrentStatus(ParticipantStatus.CONFIRMED);
+        participantRepository.save(participant);
+        assertEquals(0, eventRepository.findById(event.getId()).orElseThrow().getTotalCount());
+
+        participantCounters.afterSingletonsInstantiated();
+
+        Event recounted = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(1, recounted.getTotalCount());
+        assertEquals(1, recounted.getConfirmedCount());
+
+        // Com a contagem correta, quem chega depois vai para a lista de espera em vez de passar da lotação
+        participantService.joinPublicEvent(event.getId(), userRepository.save(TestData.user("excedente")).getId());
+        Event full = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(1, full.getTotalCount());
+        assertEquals(1, full.getWaitlistedCount());
+    }
+}
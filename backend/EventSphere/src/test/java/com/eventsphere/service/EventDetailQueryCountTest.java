@@ -0,0 +1,116 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.ParticipantRepository;
+import com.eventsphere.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Quantidade de comandos SQL das telas de detalhe de evento (findDetailed*): precisa ser a mesma para um
+ * evento com poucos e com muitos participantes, sem uma consulta por participante. A contagem é da sessão
+ * do Hibernate usada na carga, para não somar as consultas das tarefas agendadas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventDetailQueryCountTest {
+
+    // Evento, participantes com usuários e o lote de papéis dos usuários
+    private static final long MAX_STATEMENTS = 3;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static class StatementCounter implements SessionEventListener {
+        private long prepared;
+
+        @Override
+        public void jdbcPrepareStatementStart() {
+            prepared++;
+        }
+    }
+
+    @Test
+    void eventDetailsByIdDoNotGrowWithParticipants() {
+        assertConstantStatements(event -> eventService.getEventWithUserInfo(event.getId(), event.getOwner().getId()));
+    }
+
+    @Test
+    void inviteTokenValidationDoesNotGrowWithParticipants() {
+        assertConstantStatements(event -> eventService.validateInviteToken(event.getInviteToken()));
+    }
+
+    @Test
+    void eventCodeValidationDoesNotGrowWithParticipants() {
+        assertConstantStatements(event -> eventService.validateEventCode(event.getInviteCode()));
+    }
+
+    private void assertConstantStatements(Function<Event, ?> load) {
+        long few = statements(eventWithParticipants(2), load);
+        long many = statements(eventWithParticipants(40), load);
+        assertEquals(few, many, "comandos com 2 participantes: " + few + ", com 40: " + many);
+        assertTrue(many <= MAX_STATEMENTS, "comandos executados: " + many);
+    }
+
+    private long statements(Event event, Function<Event, ?> load) {
+        // Nas requisições a sessão fica aberta até o fim (open-in-view), e o mapeamento carrega os
+        // colaboradores e papéis por ela
+        return transactionTemplate.execute(status -> {
+            StatementCounter counter = new StatementCounter();
+            entityManager.unwrap(Session.class).addEventListeners(counter);
+            load.apply(event);
+            return counter.prepared;
+        });
+    }
+
+    private Event eventWithParticipants(int count) {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = TestData.event(owner, count + 10, LocalDateTime.now().plusDays(1));
+        event.setInviteToken(UUID.randomUUID().toString());
+        event.setInviteCode(UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase());
+        event = eventRepository.save(event);
+        for (int i = 0; i < count; i++) {
+            EventParticipant participant = new EventParticipant();
+            participant.setEvent(event);
+            participant.setUser(userRepository.save(TestData.user("participante")));
+            participant.setCurrentStatus(i % 2 == 0 ? ParticipantStatus.CONFIRMED : ParticipantStatus.INVITED);
+            participant.setIsCollaborator(i % 5 == 0);
+            participantRepository.save(participant);
+        }
+        return event;
+    }
+}
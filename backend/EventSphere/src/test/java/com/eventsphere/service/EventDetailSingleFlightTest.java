@@ -0,0 +1,128 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.dto.EventDTO;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.mapper.EventMapper;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.UserRepository;
+import com.eventsphere.utils.SingleFlight;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Requisições simultâneas ao detalhe do mesmo evento devem compartilhar uma única carga (SingleFlight).
+ * A primeira carga fica parada no mapeamento até que todas as outras estejam esperando por ela, então o
+ * resultado não depende da ordem em que as threads rodam.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventDetailSingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private EventMapper eventMapper;
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 50, LocalDateTime.now().plusDays(1)));
+        List<Long> viewers = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            viewers.add(i == 0 ? owner.getId() : userRepository.save(TestData.user("visitante")).getId());
+        }
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(release.await(30, TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).when(eventMapper).toDTO(any(Event.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Thread> threads = new ArrayList<>();
+            List<Future<EventDTO>> results = new ArrayList<>();
+            for (Long viewer : viewers) {
+                results.add(executor.submit(() -> {
+                    synchronized (threads) {
+                        threads.add(Thread.currentThread());
+                    }
+                    // Nas requisições a sessão fica aberta até o fim (open-in-view)
+                    return transactionTemplate.execute(status -> eventService.getEventWithUserInfo(event.getId(), viewer));
+                }));
+                if (viewer.equals(owner.getId())) {
+                    assertTrue(loading.await(30, TimeUnit.SECONDS));
+                }
+            }
+            awaitJoined(threads, CALLERS - 1);
+            release.countDown();
+
+            for (int i = 0; i < CALLERS; i++) {
+                EventDTO dto = results.get(i).get(30, TimeUnit.SECONDS);
+                assertEquals(event.getId(), dto.getId());
+                assertEquals(i == 0 ? "owner" : "visitor", dto.getUserStatus());
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(eventMapper, times(1)).toDTO(any(Event.class));
+    }
+
+    // Espera até que a quantidade de threads indicada esteja bloqueada aguardando a carga em andamento
+    private void awaitJoined(List<Thread> threads, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (joined(threads) < expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "chamadas não chegaram à carga em andamento");
+            Thread.sleep(10);
+        }
+    }
+
+    private long joined(List<Thread> threads) {
+        synchronized (threads) {
+            return threads.stream()
+                    .filter(thread -> thread.getState() == Thread.State.WAITING)
+                    .filter(thread -> Arrays.stream(thread.getStackTrace())
+                            .anyMatch(frame -> frame.getClassName().equals(SingleFlight.class.getName())
+                                    && frame.getMethodName().equals("await")))
+                    .count();
+        }
+    }
+}
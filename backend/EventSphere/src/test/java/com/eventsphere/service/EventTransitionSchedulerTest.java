@@ -0,0 +1,57 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fila de transições de uma réplica que não é líder: ninguém tira nada dela, então as entradas
+ * obsoletas das edições precisam ser descartadas pela própria fila.
+ */
+class EventTransitionSchedulerTest {
+
+    @Test
+    void editsAndCancellationsDoNotGrowTheQueueOnReplicasThatNeverPoll() {
+        EventTransitionScheduler scheduler = new EventTransitionScheduler();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (long id = 1; id <= 50; id++) {
+            for (int edit = 0; edit < 100; edit++) {
+                scheduler.track(event(id, start.plusMinutes(edit)));
+            }
+        }
+        for (long id = 1; id <= 25; id++) {
+            scheduler.forget(id);
+        }
+
+        assertEquals(25, scheduler.pendingStartCount());
+        assertTrue(scheduler.queuedTransitionCount() <= 2 * 25 + 64 + 1,
+                "entradas na fila: " + scheduler.queuedTransitionCount());
+    }
+
+    @Test
+    void trackingTheSameScheduleTwiceQueuesItOnce() {
+        EventTransitionScheduler scheduler = new EventTransitionScheduler();
+        Event event = event(1L, LocalDateTime.now().minusMinutes(1));
+        scheduler.track(event);
+        scheduler.track(event);
+
+        assertEquals(1, scheduler.queuedTransitionCount());
+        List<EventTransitionScheduler.Transition> due = scheduler.pollDueStarts(LocalDateTime.now());
+        assertEquals(1, due.size());
+        assertEquals(1L, due.get(0).eventId());
+        assertEquals(1, scheduler.pendingFinishCount());
+    }
+
+    private Event event(Long id, LocalDateTime start) {
+        Event event = TestData.event(null, 0, start);
+        event.setId(id);
+        event.setState(State.CREATED);
+        return event;
+    }
+}
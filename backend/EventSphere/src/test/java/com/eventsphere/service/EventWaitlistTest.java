@@ -0,0 +1,119 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.ParticipantRepository;
+import com.eventsphere.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lista de espera: o banco decide quem é promovido e a memória só acompanha o que foi confirmado.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventWaitlistTest {
+
+    @Autowired
+    private EventWaitlist eventWaitlist;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rolledBackChangesDoNotReachMemory() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        participantService.joinPublicEvent(event.getId(), userRepository.save(TestData.user("participante")).getId());
+        EventParticipant waiting = participantService.joinPublicEvent(event.getId(),
+                userRepository.save(TestData.user("espera")).getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventWaitlist.enqueue(event.getId(), waiting.getId() + 1000);
+            eventWaitlist.dequeue(event.getId(), waiting.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, eventWaitlist.position(event.getId(), waiting.getId() + 1000));
+        assertEquals(1, eventWaitlist.position(event.getId(), waiting.getId()));
+    }
+
+    @Test
+    void promotesTheDatabaseHeadEvenWhenMemoryMissesIt() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        User seated = userRepository.save(TestData.user("participante"));
+        participantService.joinPublicEvent(event.getId(), seated.getId());
+        EventParticipant first = participantService.joinPublicEvent(event.getId(),
+                userRepository.save(TestData.user("espera")).getId());
+        EventParticipant second = participantService.joinPublicEvent(event.getId(),
+                userRepository.save(TestData.user("espera")).getId());
+        // Como se a espera do primeiro tivesse sido registrada por outra réplica
+        eventWaitlist.dequeue(event.getId(), first.getId());
+
+        participantService.removeParticipant(event.getId(), seated.getId());
+
+        assertEquals(ParticipantStatus.INVITED, participantRepository.findById(first.getId()).orElseThrow().getCurrentStatus());
+        assertEquals(ParticipantStatus.WAITLISTED, participantRepository.findById(second.getId()).orElseThrow().getCurrentStatus());
+        assertEquals(1, eventWaitlist.position(event.getId(), second.getId()));
+    }
+
+    @Test
+    void positionsMatchTheArrivalOrderAfterAnySequenceOfChanges() {
+        EventWaitlist.WaitQueue queue = new EventWaitlist.WaitQueue();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+        long next = 1;
+        for (int step = 0; step < 20000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                queue.add(next);
+                expected.add(next++);
+            } else if (operation < 6 && next > 1) {
+                // Devolução à fila ou espera registrada fora de ordem
+                long returning = 1 + random.nextInt((int) next - 1);
+                queue.add(returning);
+                expected.add(returning);
+            } else if (!expected.isEmpty()) {
+                Long leaving = random.nextBoolean() ? expected.first() : expected.ceiling(1 + (long) random.nextInt((int) next));
+                if (leaving != null) {
+                    queue.remove(leaving);
+                    expected.remove(leaving);
+                }
+            }
+        }
+
+        assertEquals(expected.isEmpty(), queue.isEmpty());
+        assertEquals(new ArrayList<>(expected), queue.before(null));
+        int position = 1;
+        for (Long participantId : expected) {
+            assertEquals(position++, queue.position(participantId));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.dto.EventDTO;
+import com.eventsphere.dto.InvitePreviewDTO;
+import com.eventsphere.dto.UserDTO;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.EventParticipant;
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.entity.event.SeatHold;
+import com.eventsphere.entity.event.State;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.ParticipantRepository;
+import com.eventsphere.repository.SeatHoldRepository;
+import com.eventsphere.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Vaga guardada para quem abre o convite: só o usuário logado recebe uma, que fica fora do alcance dos
+ * demais até vencer; quem não entrou no sistema só vê a prévia do evento.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InviteSeatHoldTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SeatHolds seatHolds;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void anonymousVisitorSeesAPreviewWithoutHoldingASeat() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        String inviteToken = eventService.generateInviteLink(event.getId(), owner.getId());
+
+        InvitePreviewDTO preview = eventService.previewInvite(inviteToken);
+        assertEquals(event.getName(), preview.getName());
+        assertEquals(owner.getName(), preview.getOwnerName());
+
+        User other = userRepository.save(TestData.user("outro"));
+        assertEquals(ParticipantStatus.INVITED, participantService.joinPublicEvent(event.getId(), other.getId()).getCurrentStatus());
+    }
+
+    @Test
+    void heldSeatIsKeptForTheUserWhoOpenedTheInvite() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        String inviteToken = eventService.generateInviteLink(event.getId(), owner.getId());
+        User invitee = userRepository.save(TestData.user("convidado"));
+        // Nas requisições a sessão fica aberta até o fim (open-in-view)
+        EventDTO invite = transactionTemplate.execute(status -> eventService.openInvite(inviteToken, invitee.getId()));
+        assertNotNull(invite.getSeatHeldUntil());
+
+        User other = userRepository.save(TestData.user("outro"));
+        assertEquals(ParticipantStatus.WAITLISTED, participantService.joinPublicEvent(event.getId(), other.getId()).getCurrentStatus());
+
+        assertEquals(ParticipantStatus.INVITED,
+                participantService.addParticipantByInvite(invitee.getId(), inviteToken, null).getCurrentStatus());
+    }
+
+    @Test
+    void accountCreatedByInviteFollowsTheSameAdmissionRules() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        String inviteToken = eventService.generateInviteLink(event.getId(), owner.getId());
+        Event started = eventRepository.findById(event.getId()).orElseThrow();
+        started.setState(State.ACTIVE);
+        eventRepository.save(started);
+        UserDTO account = newAccount();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.registerUserByInvite(account, inviteToken, started.getInviteCode()));
+        assertNull(userRepository.findByUsername(account.getUsername()));
+    }
+
+    @Test
+    void leaderPurgesExpiredHoldsCreatedByOtherReplicas() throws InterruptedException {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 1, LocalDateTime.now().plusDays(1)));
+        // Reserva gravada por outra réplica: a roda de tempo desta não sabe dela
+        User invitee = userRepository.save(TestData.user("convidado"));
+        seatHoldRepository.save(new SeatHold(event, invitee, LocalDateTime.now().plusSeconds(1)));
+        User waiting = userRepository.save(TestData.user("espera"));
+        EventParticipant participant = participantService.joinPublicEvent(event.getId(), waiting.getId());
+        assertEquals(ParticipantStatus.WAITLISTED, participant.getCurrentStatus());
+
+        Thread.sleep(1200);
+        leaseService.heartbeat();
+        seatHolds.purgeExpired();
+
+        assertNull(seatHoldRepository.findByEventIdAndUserId(event.getId(), invitee.getId()));
+        assertEquals(ParticipantStatus.INVITED, participantRepository.findById(participant.getId()).orElseThrow().getCurrentStatus());
+    }
+
+    private UserDTO newAccount() {
+        String username = "convidado" + UUID.randomUUID().toString().substring(0, 8);
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setName("Convidado");
+        userDTO.setEmail(username + "@eventsphere.test");
+        userDTO.setPassword("Senha@123");
+        return userDTO;
+    }
+}
@@ -0,0 +1,83 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.ParticipantHistory;
+import com.eventsphere.entity.event.ParticipantStatus;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.ParticipantRepository;
+import com.eventsphere.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Alterações em lote: registram no histórico a nova situação de cada participante e não alcançam o
+ * organizador do evento.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ParticipantBulkUpdateTest {
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void ownerIsRejectedByRemoveAndChangeStatus() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 10, LocalDateTime.now().plusDays(1)));
+        User member = userRepository.save(TestData.user("participante"));
+        participantService.joinPublicEvent(event.getId(), member.getId());
+        List<Long> userIds = List.of(member.getId(), owner.getId());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> participantService.bulkUpdate(event.getId(), "REMOVE", userIds, null, owner.getId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> participantService.bulkUpdate(event.getId(), "CHANGE_STATUS", userIds, "CONFIRMED", owner.getId()));
+
+        assertEquals(ParticipantStatus.INVITED,
+                participantRepository.findByEventIdAndUserId(event.getId(), member.getId()).getCurrentStatus());
+    }
+
+    @Test
+    // A troca individual registra a situação anterior, como sempre fez; a troca em lote, a nova
+    void historyRowsOfIndividualAndBulkStatusChanges() {
+        User owner = userRepository.save(TestData.user("dono"));
+        Event event = eventRepository.save(TestData.event(owner, 10, LocalDateTime.now().plusDays(1)));
+        User member = userRepository.save(TestData.user("participante"));
+        participantService.joinPublicEvent(event.getId(), member.getId());
+
+        transactionTemplate.executeWithoutResult(status ->
+                participantService.updateParticipantStatus(event.getId(), member.getId(), ParticipantStatus.CONFIRMED));
+        participantService.bulkUpdate(event.getId(), "CHANGE_STATUS", List.of(member.getId()), "PENDING", owner.getId());
+
+        List<ParticipantStatus> history = transactionTemplate.execute(status ->
+                participantRepository.findByEventIdAndUserId(event.getId(), member.getId()).getParticipantHistory().stream()
+                        .sorted(Comparator.comparing(ParticipantHistory::getId))
+                        .map(ParticipantHistory::getStatus)
+                        .toList());
+        assertEquals(List.of(ParticipantStatus.INVITED, ParticipantStatus.INVITED, ParticipantStatus.PENDING), history);
+    }
+}
@@ -0,0 +1,120 @@
+package com.eventsphere.service;
+
+import com.eventsphere.TestData;
+import com.eventsphere.dto.EventSummaryDTO;
+import com.eventsphere.dto.PublicEventFilter;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Páginas do catálogo público em cache devem refletir entradas de participantes e não guardar as
+ * páginas seguintes da listagem combinada, cujo cursor é de cada usuário.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PublicFeedCacheTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PublicFeedCache publicFeedCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void joinRefreshesCachedPagesOfTheEvent() {
+        User owner = userRepository.save(TestData.user("dono"));
+        User viewer = userRepository.save(TestData.user("visitante"));
+        // Um dia só deste evento, para que os filtros de data o isolem dos eventos de outros testes
+        LocalDateTime start = LocalDate.of(2100 + ThreadLocalRandom.current().nextInt(800), 1, 1).atTime(10, 0);
+        Event event = eventRepository.save(TestData.event(owner, 1, start));
+
+        assertEquals(0, onlyEvent(page(viewer, start.toLocalDate(), null)).getParticipantCount());
+        assertEquals(1, page(viewer, start.toLocalDate(), true).size());
+
+        participantService.joinPublicEvent(event.getId(), userRepository.save(TestData.user("participante")).getId());
+
+        assertEquals(1, onlyEvent(page(viewer, start.toLocalDate(), null)).getParticipantCount());
+        assertTrue(page(viewer, start.toLocalDate(), true).isEmpty(), "evento lotado ainda aparece entre os com vagas");
+    }
+
+    @Test
+    void combinedListingCachesOnlyItsFirstPublicPage() {
+        User owner = userRepository.save(TestData.user("dono"));
+        User viewer = userRepository.save(TestData.user("visitante"));
+        eventRepository.save(TestData.event(owner, 10, LocalDateTime.now().plusDays(1)));
+        eventRepository.save(TestData.event(owner, 10, LocalDateTime.now().plusDays(2)));
+        String cursor = eventService.getNextEventsAndPublicWithUserInfo(viewer.getId(), null, 1).getNextCursor();
+        assertNotNull(cursor);
+        double loads = cacheLoads();
+
+        eventService.getNextEventsAndPublicWithUserInfo(viewer.getId(), cursor, 1);
+
+        assertEquals(loads, cacheLoads());
+    }
+
+    @Test
+    void invalidationInsideATransactionWaitsForTheCommit() {
+        User owner = userRepository.save(TestData.user("dono"));
+        User viewer = userRepository.save(TestData.user("visitante"));
+        LocalDateTime start = LocalDate.of(2100 + ThreadLocalRandom.current().nextInt(800), 1, 1).atTime(10, 0);
+        eventRepository.save(TestData.event(owner, 10, start));
+        page(viewer, start.toLocalDate(), null);
+        double loads = cacheLoads();
+
+        // Uma leitura antes do commit guardaria de novo o estado antigo; a página em cache segue valendo
+        transactionTemplate.executeWithoutResult(status -> {
+            publicFeedCache.invalidateAll();
+            page(viewer, start.toLocalDate(), null);
+            assertEquals(loads, cacheLoads());
+        });
+
+        page(viewer, start.toLocalDate(), null);
+        assertEquals(loads + 1, cacheLoads());
+    }
+
+    private List<EventSummaryDTO> page(User viewer, LocalDate day, Boolean hasFreeSeats) {
+        return eventService.getPublicEventsWithUserInfo(viewer.getId(),
+                new PublicEventFilter(null, null, day, day, hasFreeSeats), null, null, 20).getEvents();
+    }
+
+    private EventSummaryDTO onlyEvent(List<EventSummaryDTO> events) {
+        assertEquals(1, events.size());
+        return events.get(0);
+    }
+
+    private double cacheLoads() {
+        return meterRegistry.get("cache.puts").tag("cache", PublicFeedCache.CACHE_NAME).functionCounter().count();
+    }
+}
@@ -0,0 +1,152 @@
+package com.eventsphere.service;
+
+import com.eventsphere.EventSphereApplication;
+import com.eventsphere.TestData;
+import com.eventsphere.entity.event.Event;
+import com.eventsphere.entity.event.State;
+import com.eventsphere.entity.user.User;
+import com.eventsphere.repository.EventRepository;
+import com.eventsphere.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas réplicas (dois contextos Spring) disputando o lease dos jobs de transição no mesmo banco.
+ * O heartbeat agendado roda uma vez na subida; depois os testes o chamam à mão para controlar o tempo,
+ * começando por deixar vencer o lease da subida e elegendo a réplica A.
+ */
+class SchedulerLeaseServiceTest {
+
+    private static final long TTL_MS = 1500;
+    private static final long SWEEP_MS = 60000;
+
+    private ConfigurableApplicationContext replicaA;
+    private ConfigurableApplicationContext replicaB;
+
+    @AfterEach
+    void closeReplicas() {
+        if (replicaB != null) {
+            replicaB.close();
+        }
+        if (replicaA != null) {
+            replicaA.close();
+        }
+    }
+
+    @Test
+    void onlyOneReplicaHoldsTheLeaseAndAnotherTakesOverWhenItStopsRenewing() throws InterruptedException {
+        replicaA = start("lease-takeover", "replica-a", SWEEP_MS);
+        replicaB = start("lease-takeover", "replica-b", SWEEP_MS);
+        SchedulerLeaseService leaseA = replicaA.getBean(SchedulerLeaseService.class);
+        SchedulerLeaseService leaseB = replicaB.getBean(SchedulerLeaseService.class);
+        elect(leaseA);
+
+        assertFalse(leaseB.isLeader());
+        leaseB.heartbeat();
+        assertFalse(leaseB.isLeader());
+        long staleToken = leaseA.getFencingToken();
+
+        // A réplica A para de renovar (pausa de GC, rede); B assume depois que o lease expira
+        Thread.sleep(TTL_MS + 200);
+        leaseB.heartbeat();
+        assertTrue(leaseB.isLeader());
+        assertFalse(leaseA.isLeader());
+        assertTrue(leaseB.getFencingToken() > staleToken);
+
+        // Um UPDATE de transição com o token antigo não altera nada; com o token novo passa pelo fencing
+        EventRepository events = replicaA.getBean(EventRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(0, events.startDueEvents(now, LocalDate.now(), LocalTime.now(),
+                SchedulerLeaseService.EVENT_TRANSITIONS_LEASE, staleToken));
+        assertDoesNotThrow(() -> events.startDueEvents(now, LocalDate.now(), LocalTime.now(),
+                SchedulerLeaseService.EVENT_TRANSITIONS_LEASE, leaseB.getFencingToken()));
+
+        // A antiga líder volta, mas não recupera o lease enquanto B renova
+        leaseA.heartbeat();
+        assertFalse(leaseA.isLeader());
+        leaseB.heartbeat();
+        assertTrue(leaseB.isLeader());
+    }
+
+    @Test
+    void leaseIsReleasedOnShutdownSoTheOtherReplicaTakesOverImmediately() throws InterruptedException {
+        replicaA = start("lease-release", "replica-a", SWEEP_MS);
+        replicaB = start("lease-release", "replica-b", SWEEP_MS);
+        SchedulerLeaseService leaseA = replicaA.getBean(SchedulerLeaseService.class);
+        SchedulerLeaseService leaseB = replicaB.getBean(SchedulerLeaseService.class);
+        elect(leaseA);
+        long tokenA = leaseA.getFencingToken();
+        leaseB.heartbeat();
+        assertFalse(leaseB.isLeader());
+
+        replicaA.close();
+        replicaA = null;
+        leaseB.heartbeat();
+        assertTrue(leaseB.isLeader());
+        assertEquals(tokenA + 1, leaseB.getFencingToken());
+    }
+
+    @Test
+    void leaderStartsEventsFromItsTransitionQueueWithinASecond() throws InterruptedException {
+        replicaA = start("lease-queued-event", "replica-a", SWEEP_MS);
+        replicaB = start("lease-queued-event", "replica-b", SWEEP_MS);
+        elect(replicaA.getBean(SchedulerLeaseService.class));
+
+        UserRepository usersA = replicaA.getBean(UserRepository.class);
+        EventRepository eventsA = replicaA.getBean(EventRepository.class);
+        User owner = usersA.save(TestData.user("owner"));
+        Event event = eventsA.save(TestData.event(owner, 0, LocalDateTime.now().minusSeconds(1)));
+        replicaA.getBean(EventTransitionScheduler.class).track(event);
+
+        assertEquals(State.ACTIVE, awaitState(eventsA, event.getId(), State.ACTIVE, 2500));
+    }
+
+    @Test
+    void leaderStartsEventsCreatedOnAnotherReplicaInTheNextSweep() throws InterruptedException {
+        replicaA = start("lease-remote-event", "replica-a", 500);
+        replicaB = start("lease-remote-event", "replica-b", 500);
+        elect(replicaA.getBean(SchedulerLeaseService.class));
+
+        // Evento gravado pela réplica B: a fila de transições da líder A não fica sabendo dele
+        UserRepository usersB = replicaB.getBean(UserRepository.class);
+        EventRepository eventsB = replicaB.getBean(EventRepository.class);
+        User owner = usersB.save(TestData.user("owner"));
+        Long eventId = eventsB.save(TestData.event(owner, 0, LocalDateTime.now().minusSeconds(1))).getId();
+
+        assertEquals(State.ACTIVE, awaitState(eventsB, eventId, State.ACTIVE, 2500));
+    }
+
+    private State awaitState(EventRepository events, Long eventId, State expected, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (events.findById(eventId).orElseThrow().getState() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        return events.findById(eventId).orElseThrow().getState();
+    }
+
+    // A subida de cada contexto leva mais que o TTL; espera vencer o lease tomado nela e elege a réplica
+    private void elect(SchedulerLeaseService lease) throws InterruptedException {
+        Thread.sleep(TTL_MS + 200);
+        lease.heartbeat();
+        assertTrue(lease.isLeader());
+    }
+
+    private ConfigurableApplicationContext start(String database, String holder, long sweepMs) {
+        return new SpringApplicationBuilder(EventSphereApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "--scheduler.lease.holder=" + holder,
+                        "--scheduler.lease.ttl-ms=" + TTL_MS,
+                        "--scheduler.lease.renew-ms=3600000",
+                        "--scheduler.transitions.sweep-ms=" + sweepMs);
+    }
+}
@@ -6,8 +6,11 @@ import { FaCalendarAlt, FaCrown, FaUserFriends, FaUserPlus } from 'react-icons/f
 import { BsPersonFill } from 'react-icons/bs';
 import API_CONFIG from '../config/api';
 import ParticipantService from '../services/ParticipantService';
+import { useAuthImage } from '../hooks/useAuthImage';
 
 const EventCard = ({ event, type, linkTo, onParticipate }) => {
+  // Listagens trazem só a referência da foto (/api/event/{id}/photo), que exige autenticação
+  const apiPhoto = useAuthImage(event.imageUrl?.startsWith('/api/') ? event.imageUrl : null);
   
   const handleParticipateClick = async (e) => {
     e.preventDefault(); 
@@ -80,13 +83,15 @@ const EventCard = ({ event, type, linkTo, onParticipate }) => {
       case 'collaborator':
         return <FaUserFriends className="status-icon collaborator-icon" />;
       case 'participant':
+      case 'waitlisted':
         return <BsPersonFill className="status-icon participant-icon" />;
       default:
         return null; 
     }
   };  
   const getEventImage = () => {
-    const imageUrl = formatImageUrl(event.imageUrl || event.photo || event.image);
+    const imageUrl = apiPhoto || formatImageUrl(event.photo || event.image ||
+      (event.imageUrl?.startsWith('/api/') ? null : event.imageUrl));
     if (imageUrl) {
       return <img src={imageUrl} alt={event.name} className="card-image" />;
     }
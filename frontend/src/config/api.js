@@ -20,6 +20,10 @@ const API_CONFIG = {
     MY_EVENTS: '/api/event/my',
     ALL_MY_EVENTS: '/api/event/all-my',
     PUBLIC_EVENTS: '/api/event/public',
+    EVENT_SEARCH: '/api/event/search',
+    PUBLIC_EVENT_FACETS: '/api/event/public/facets',
+    EVENT_CALENDAR: '/api/event/calendar',
+    EVENT_LOCALIZATIONS: '/api/event/localizations',
     EVENT_START: '/api/event/{eventID}/start',
     EVENT_FINISH: '/api/event/{eventID}/finish',      
     EVENT_CANCEL: '/api/event/{eventID}/cancel',    
@@ -47,6 +51,8 @@ const API_CONFIG = {
     PARTICIPANT_ATTENDANCE_REPORT: '/api/participant/attendance-report/{eventId}',
     PARTICIPANT_EVENT_PRESENT: '/api/participant/present/{eventId}',
     PARTICIPANT_PRESENCE: '/api/participant/presence/{token}',
+    PARTICIPANT_WAITLIST: '/api/participant/waitlist/{eventId}',
+    PARTICIPANT_BULK: '/api/participant/bulk/{eventId}',
     
     ADMIN: '/admin'
   },
@@ -40,7 +40,8 @@ export const PARTICIPANT_STATUS = {
   CONFIRMED: 'CONFIRMED',
   PRESENT: 'PRESENT',
   ABSENT: 'ABSENT',
-  CANCELED: 'CANCELED'
+  CANCELED: 'CANCELED',
+  WAITLISTED: 'WAITLISTED'
 };
 
 export const ACCESS_TYPES = {
@@ -0,0 +1,40 @@
+import { useState, useEffect } from 'react';
+import { get } from '../fetchWithAuth';
+
+// Imagens servidas pela API exigem o token; baixa com autenticação e expõe como object URL
+export const useAuthImage = (path) => {
+  const [src, setSrc] = useState(null);
+
+  useEffect(() => {
+    if (!path) {
+      setSrc(null);
+      return undefined;
+    }
+
+    let cancelled = false;
+    let objectUrl = null;
+
+    get(path)
+      .then(response => response.blob())
+      .then(blob => {
+        if (!cancelled) {
+          objectUrl = URL.createObjectURL(blob);
+          setSrc(objectUrl);
+        }
+      })
+      .catch(() => {
+        if (!cancelled) {
+          setSrc(null);
+        }
+      });
+
+    return () => {
+      cancelled = true;
+      if (objectUrl) {
+        URL.revokeObjectURL(objectUrl);
+      }
+    };
+  }, [path]);
+
+  return src;
+};
@@ -0,0 +1,29 @@
+import { useState, useEffect } from 'react';
+import EventService from '../services/EventService';
+
+const DEBOUNCE_MS = 250;
+
+// Locais já usados em eventos públicos para o autocompletar do campo Local; consulta só depois que o
+// usuário para de digitar e descarta respostas de prefixos antigos
+export const useLocalizationSuggestions = (prefix) => {
+  const [suggestions, setSuggestions] = useState([]);
+
+  useEffect(() => {
+    let cancelled = false;
+    const timer = setTimeout(() => {
+      EventService.suggestLocalizations((prefix || '').trim())
+        .then(result => {
+          if (!cancelled) {
+            setSuggestions(result.success ? result.localizations : []);
+          }
+        });
+    }, DEBOUNCE_MS);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [prefix]);
+
+  return suggestions;
+};
@@ -1,7 +1,7 @@
 import React, { useState, useEffect, useCallback } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { Header, Footer, EventCard, PageTitle, StandardButton, StandardCard } from '../components';
-import { IoCalendarOutline, IoSearch, IoGridOutline, IoListOutline, IoAddCircleOutline } from 'react-icons/io5';
+import { IoCalendarOutline, IoSearch, IoGridOutline, IoListOutline, IoAddCircleOutline, IoChevronDown } from 'react-icons/io5';
 import '../styles/AllEvents.css';
 import EventService from '../services/EventService';
 import { useDialog } from '../contexts/DialogContext';
@@ -10,6 +10,8 @@ const AllEvents = () => {
   const [events, setEvents] = useState([]);
   const [filteredEvents, setFilteredEvents] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
   const [viewMode, setViewMode] = useState('grid'); 
@@ -48,6 +50,13 @@ const AllEvents = () => {
     filterEvents();
   }, [filterEvents]);
 
+  const withSource = (events) => events.map(event => ({
+    ...event,
+    
+    userStatus: event.isOwner ? 'owner' : 'participant',
+    source: event.isOwner ? 'created' : 'participating'
+  }));
+
   const loadAllEvents = async () => {
     try {
       setLoading(true);
@@ -57,14 +66,8 @@ const AllEvents = () => {
       const allMyEventsResult = await EventService.getAllMyEvents();
       
       if (allMyEventsResult.success) {
-        const events = allMyEventsResult.events.map(event => ({
-          ...event,
-          
-          userStatus: event.isOwner ? 'owner' : 'participant',
-          source: event.isOwner ? 'created' : 'participating'
-        }));
-        
-        setEvents(events);
+        setEvents(withSource(allMyEventsResult.events));
+        setNextCursor(allMyEventsResult.nextCursor);
       } else {
         console.error('Error loading all my events:', allMyEventsResult.message);
         setError(allMyEventsResult.message || 'Erro ao carregar eventos');
@@ -77,6 +80,25 @@ const AllEvents = () => {
     }
   };
 
+  // Busca e filtro valem para os eventos já carregados; as páginas seguintes vêm sob demanda
+  const loadMoreEvents = async () => {
+    if (!nextCursor || loadingMore) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const result = await EventService.getAllMyEvents(nextCursor);
+      if (result.success) {
+        setEvents(prev => [...prev, ...withSource(result.events)]);
+        setNextCursor(result.nextCursor);
+      } else {
+        await dialog.alert(result.message || 'Erro ao carregar eventos');
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleParticipate = async (eventId, success, message) => {
     if (success) {
       
@@ -205,6 +227,18 @@ const AllEvents = () => {
                 ))}
               </div>
             )}
+            {!loading && !error && nextCursor && (
+              <div className="load-more-container">
+                <StandardButton
+                  variant="secondary"
+                  icon={IoChevronDown}
+                  loading={loadingMore}
+                  onClick={loadMoreEvents}
+                >
+                  Carregar mais
+                </StandardButton>
+              </div>
+            )}
           </div>
         </div>
       </div>
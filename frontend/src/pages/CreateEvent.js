@@ -3,6 +3,7 @@ import { useNavigate } from 'react-router-dom';
 import { IoCreateOutline, IoImageOutline, IoArrowBackOutline } from 'react-icons/io5';
 import { Header, Footer, PageTitle, StandardButton, StandardCard, BackButton } from '../components';
 import EventService from '../services/EventService';
+import { useLocalizationSuggestions } from '../hooks/useLocalizationSuggestions';
 import AuthService from '../services/AuthService';
 import { useFormState, useFileUpload } from '../hooks/useFormState';
 import { DEFAULT_VALUES } from '../constants/index';
@@ -46,6 +47,8 @@ export default function CreateEvent() {
     photo: ''
   });
 
+  const localizationSuggestions = useLocalizationSuggestions(formData.localization);
+
   
   const {
     file: photoFile,
@@ -244,8 +247,15 @@ export default function CreateEvent() {
                     onChange={handleFormChange}
                     className="modern-input"
                     placeholder="Digite o local do evento"
+                    list="localization-suggestions"
+                    autoComplete="off"
                     required
                   />
+                  <datalist id="localization-suggestions">
+                    {localizationSuggestions.map(localization => (
+                      <option key={localization} value={localization} />
+                    ))}
+                  </datalist>
                 </div>
 
                 <div className="form-group">
@@ -8,6 +8,7 @@ import { useFormState, useFileUpload } from '../hooks/useFormState';
 import { validateEventData } from '../utils/validators';
 import { DEFAULT_VALUES } from '../constants/index';
 import EventService from '../services/EventService';
+import { useLocalizationSuggestions } from '../hooks/useLocalizationSuggestions';
 import '../styles/Main.css';import '../styles/CreateEvent.css';
 
 const getTodayDateString = () => {
@@ -46,6 +47,8 @@ export default function EditEvent() {
     photo: ''
   });
 
+  const localizationSuggestions = useLocalizationSuggestions(formData.localization);
+
   // File upload state using custom hook
   const {
     file: photoFile,
@@ -269,8 +272,15 @@ export default function EditEvent() {
                     onChange={handleChange}
                     className="modern-input"
                     placeholder="Digite o local do evento"
+                    list="localization-suggestions"
+                    autoComplete="off"
                     required
                   />
+                  <datalist id="localization-suggestions">
+                    {localizationSuggestions.map(localization => (
+                      <option key={localization} value={localization} />
+                    ))}
+                  </datalist>
                 </div>
 
                 <div className="form-group">
@@ -771,14 +771,16 @@ const EventDetails = () => {
                   </button>
                 )}
 
-                {!canEdit && event.userStatus === 'participant' && event.state === 'CREATED' && (
+                {!canEdit && (event.userStatus === 'participant' || event.userStatus === 'waitlisted') && event.state === 'CREATED' && (
                   <button 
                     className="modern-btn event-action-btn leave-btn" 
                     onClick={handleLeaveEvent}
                     disabled={isLeavingEvent}
                   >
                     <IoRemoveCircleOutline />
-                    <span>{isLeavingEvent ? 'Saindo...' : 'Sair do Evento'}</span>
+                    <span>
+                      {isLeavingEvent ? 'Saindo...' : event.userStatus === 'waitlisted' ? 'Sair da Lista de Espera' : 'Sair do Evento'}
+                    </span>
                   </button>
                 )}
                 
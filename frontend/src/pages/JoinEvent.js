@@ -139,7 +139,7 @@ export default function JoinEvent() {
       }
 
       if (result.success) {
-        setSuccess('Parabéns! Você agora é um participante deste evento.');
+        setSuccess(result.waitlisted ? result.message : 'Parabéns! Você agora é um participante deste evento.');
         setTimeout(() => {
           navigate(`/event/${event.id}`);
         }, 2000);
@@ -374,6 +374,9 @@ export default function JoinEvent() {
                   ) : (
                     <>
                       <p>Clique no botão abaixo para confirmar sua participação neste evento.</p>
+                      {event.seatHeldUntil && !success && (
+                        <p>Sua vaga está guardada até {formatTime(event.seatHeldUntil.split('T')[1])}.</p>
+                      )}
                       
                       {error && <div className="status-message status-error">{error}</div>}
                       {success && <div className="status-message status-success">{success}</div>}
@@ -11,11 +11,24 @@ import Calendar from '../components/Calendar';
 import EventCard from '../components/EventCard';
 import { FaCalendarAlt } from 'react-icons/fa';
 import { MdPublic, MdLock } from 'react-icons/md';
-import { IoGridOutline } from 'react-icons/io5';
+import { IoGridOutline, IoChevronDown } from 'react-icons/io5';
+
+// Dias do mês (0-11) no formato AAAA-MM-DD aceito pelo calendário do backend
+const monthRange = (year, month) => {
+  const pad = (n) => n.toString().padStart(2, '0');
+  const lastDay = new Date(year, month + 1, 0).getDate();
+  return [`${year}-${pad(month + 1)}-01`, `${year}-${pad(month + 1)}-${pad(lastDay)}`];
+};
+
+const withId = (events) => events.filter(event => !!event.id);
 
 function Main() {  
   const [myEvents, setMyEvents] = useState([]);
   const [publicEvents, setPublicEvents] = useState([]);
+  const [calendarEvents, setCalendarEvents] = useState([]);
+  const [myCursor, setMyCursor] = useState(null);
+  const [publicCursor, setPublicCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const navigate = useNavigate();
@@ -28,6 +41,8 @@ function Main() {
 
     
     loadEvents();
+    const today = new Date();
+    loadCalendar(today.getFullYear(), today.getMonth());
   }, [navigate]);  const loadEvents = async () => {
     try {
       setLoading(true);
@@ -37,27 +52,13 @@ function Main() {
       ]);
 
       if (myEventsResult.success) {
-        const validMyEvents = myEventsResult.events
-          .filter(event => {
-            if (!event.id) {
-              return false;
-            }
-            return true;
-          });
-        
-        setMyEvents(validMyEvents);
+        setMyEvents(withId(myEventsResult.events));
+        setMyCursor(myEventsResult.nextCursor);
       }
 
       if (publicEventsResult.success) {
-        const validPublicEvents = publicEventsResult.events
-          .filter(event => {
-            if (!event.id) {
-              return false;
-            }
-            return true;
-          });
-        
-        setPublicEvents(validPublicEvents);
+        setPublicEvents(withId(publicEventsResult.events));
+        setPublicCursor(publicEventsResult.nextCursor);
       }
     } catch (error) {
       setError('Erro ao carregar eventos');
@@ -66,6 +67,32 @@ function Main() {
     }
   };
 
+  // As listas trazem uma página por vez; a próxima só é buscada quando o usuário pede
+  const loadMore = async (fetchPage, cursor, setEvents, setCursor) => {
+    if (!cursor || loadingMore) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const result = await fetchPage(cursor);
+      if (result.success) {
+        setEvents(prev => [...prev, ...withId(result.events)]);
+        setCursor(result.nextCursor);
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // O calendário mostra todos os eventos do mês exibido, não só os das páginas já carregadas
+  const loadCalendar = async (year, month) => {
+    const [from, to] = monthRange(year, month);
+    const result = await EventService.getCalendarEvents(from, to, 'mine');
+    if (result.success) {
+      setCalendarEvents(result.events);
+    }
+  };
+
   return (
     <>
       <Header />
@@ -82,7 +109,7 @@ function Main() {
           </div>
           <StandardCard variant="glass" padding="large" className="main-top-card">
             <div className="main-top-section">
-              <Calendar events={myEvents} />
+              <Calendar events={calendarEvents} onMonthChange={loadCalendar} />
               
               <div className="actions-section">
                 <h3 className="actions-title">Ações Rápidas</h3>                
@@ -142,6 +169,19 @@ function Main() {
                   ))
                 )}
               </div>
+              {!loading && myCursor && (
+                <div className="load-more-container">
+                  <StandardButton
+                    variant="secondary"
+                    className="load-more-btn"
+                    disabled={loadingMore}
+                    onClick={() => loadMore(EventService.getMyEvents, myCursor, setMyEvents, setMyCursor)}
+                  >
+                    <IoChevronDown className="load-more-icon" />
+                    {loadingMore ? 'Carregando...' : 'Carregar mais'}
+                  </StandardButton>
+                </div>
+              )}
             </StandardCard>
           </section>
           <section className="events-section">
@@ -176,6 +216,19 @@ function Main() {
                   ))
                 )}
               </div>
+              {!loading && publicCursor && (
+                <div className="load-more-container">
+                  <StandardButton
+                    variant="secondary"
+                    className="load-more-btn"
+                    disabled={loadingMore}
+                    onClick={() => loadMore(EventService.getPublicEvents, publicCursor, setPublicEvents, setPublicCursor)}
+                  >
+                    <IoChevronDown className="load-more-icon" />
+                    {loadingMore ? 'Carregando...' : 'Carregar mais'}
+                  </StandardButton>
+                </div>
+              )}
             </StandardCard>
           </section>
         </div>
@@ -2,17 +2,23 @@ import { get, post, put, del, uploadFile } from '../fetchWithAuth';
 import API_CONFIG, { buildUrl } from '../config/api';
 import tempIdManager from '../utils/tempIdManager';
 
+const PAGE_SIZE = 20;
+
+// As listagens de eventos são paginadas por cursor: cada chamada traz uma página e o nextCursor da
+// seguinte (null na última), que a tela devolve ao carregar mais
+const getPage = async (endpoint, cursor) => {
+  const response = await get(buildUrl(endpoint, { limit: PAGE_SIZE, cursor }));
+  const data = await response.json();
+  return { events: data.data || [], nextCursor: data.nextCursor || null };
+};
+
 const EventService = {
   
-  async getPublicEvents() {
+  async getPublicEvents(cursor = null) {
     try {
       // O backend já filtra eventos ativos e ordena por data por padrão
-      const url = buildUrl(API_CONFIG.ENDPOINTS.PUBLIC_EVENTS);
-      
-      const response = await get(url);
-      const data = await response.json();
-      
-      const events = (data.data || data || []).map(event => {
+      const page = await getPage(API_CONFIG.ENDPOINTS.PUBLIC_EVENTS, cursor);
+      const events = page.events.map(event => {
         // Verificação de eventos sem ID para debug
         if (!event.id) {
           console.warn('Evento sem ID encontrado:', event);
@@ -20,22 +26,66 @@ const EventService = {
         return event;
       });
       
-      return { success: true, events };
+      return { success: true, events, nextCursor: page.nextCursor };
     } catch (error) {
       console.error('Error fetching public events:', error);
+      return { success: false, message: error.message, events: [], nextCursor: null };
+    }
+  },
+
+  // Busca por nome, local ou descrição; o backend devolve os mais relevantes primeiro
+  async searchEventsByText(query, limit = 20) {
+    try {
+      const response = await get(buildUrl(API_CONFIG.ENDPOINTS.EVENT_SEARCH, { q: query, limit }));
+      const data = await response.json();
+      return { success: data.success, events: data.data || [], message: data.message };
+    } catch (error) {
+      console.error('Error searching events:', error);
       return { success: false, message: error.message, events: [] };
     }
   },
 
-  
-  async getMyEvents() {
+  // Contagens por estado, classificação e vagas; filters aceita state, classification, from, to e hasFreeSeats
+  async getPublicEventFacets(filters = {}) {
     try {
-      const url = buildUrl(API_CONFIG.ENDPOINTS.MY_EVENTS);
-      
-      const response = await get(url);
+      const response = await get(buildUrl(API_CONFIG.ENDPOINTS.PUBLIC_EVENT_FACETS, filters));
       const data = await response.json();
-      
-      const events = (data.data || data || []).map(event => {
+      return { success: data.success, facets: data.data, message: data.message };
+    } catch (error) {
+      console.error('Error fetching public event facets:', error);
+      return { success: false, message: error.message, facets: null };
+    }
+  },
+
+  // Eventos que se sobrepõem aos dias from..to (AAAA-MM-DD); scope: 'all', 'mine' ou 'public'
+  async getCalendarEvents(from, to, scope = 'all') {
+    try {
+      const response = await get(buildUrl(API_CONFIG.ENDPOINTS.EVENT_CALENDAR, { from, to, scope }));
+      const data = await response.json();
+      return { success: data.success, events: data.data || [], message: data.message };
+    } catch (error) {
+      console.error('Error fetching calendar events:', error);
+      return { success: false, message: error.message, events: [] };
+    }
+  },
+
+  // Locais já usados em eventos públicos que começam com o prefixo, dos mais usados para os menos
+  async suggestLocalizations(prefix, limit = 10) {
+    try {
+      const response = await get(buildUrl(API_CONFIG.ENDPOINTS.EVENT_LOCALIZATIONS, { prefix, limit }));
+      const data = await response.json();
+      return { success: data.success, localizations: data.data || [], message: data.message };
+    } catch (error) {
+      console.error('Error fetching localization suggestions:', error);
+      return { success: false, message: error.message, localizations: [] };
+    }
+  },
+
+  
+  async getMyEvents(cursor = null) {
+    try {
+      const page = await getPage(API_CONFIG.ENDPOINTS.MY_EVENTS, cursor);
+      const events = page.events.map(event => {
         
         if (!event.id) {
           console.warn('Evento sem ID encontrado:', event);
@@ -43,31 +93,28 @@ const EventService = {
         return event;
       });
       
-      return { success: true, events };
+      return { success: true, events, nextCursor: page.nextCursor };
     } catch (error) {
       console.error('Error fetching my events:', error);
-      return { success: false, message: error.message, events: [] };
+      return { success: false, message: error.message, events: [], nextCursor: null };
     }
   },
 
   
-  async getAllMyEvents() {
+  async getAllMyEvents(cursor = null) {
     try {
-      const url = buildUrl(API_CONFIG.ENDPOINTS.ALL_MY_EVENTS);
-      const response = await get(url);
-      const data = await response.json();
-      
-      const events = (data.data || data || []).map(event => {
+      const page = await getPage(API_CONFIG.ENDPOINTS.ALL_MY_EVENTS, cursor);
+      const events = page.events.map(event => {
         if (!event.id) {
           console.warn('Evento sem ID encontrado:', event);
         }
         return event;
       });
       
-      return { success: true, events };
+      return { success: true, events, nextCursor: page.nextCursor };
     } catch (error) {
       console.error('Error fetching all my events:', error);
-      return { success: false, message: error.message, events: [] };
+      return { success: false, message: error.message, events: [], nextCursor: null };
     }
   },
 
@@ -397,24 +444,13 @@ const EventService = {
   },
 
   
-  async getParticipatingEvents() {
+  async getParticipatingEvents(cursor = null) {
     try {
-      const url = `${API_CONFIG.BASE_URL}/api/event/participating`;
-      const response = await get(url);
-      const data = await response.json();
-      
-      if (data.success || response.ok) {
-        return { 
-          success: true, 
-          events: data.data || data.events || [], 
-          message: data.message || 'Eventos carregados com sucesso' 
-        };
-      } else {
-        return { success: false, message: data.message || 'Erro ao carregar eventos', events: [] };
-      }
+      const { events, nextCursor } = await getPage('/api/event/participating', cursor);
+      return { success: true, events, nextCursor, message: 'Eventos carregados com sucesso' };
     } catch (error) {
       console.error('Error loading participating events:', error);
-      return { success: false, message: error.message || 'Erro de conexão', events: [] };
+      return { success: false, message: error.message || 'Erro de conexão', events: [], nextCursor: null };
     }
   },
 
@@ -460,44 +496,38 @@ const EventService = {
   },
 
   
-  async getNextEvents() {
+  async getNextEvents(cursor = null) {
     try {
       // O backend já filtra eventos ativos e ordena por data por padrão
-      const url = buildUrl(API_CONFIG.ENDPOINTS.MY_EVENTS);
-      
-      const response = await get(url);
-      const data = await response.json();
-      const events = (data.data || data || []).map(event => {
+      const page = await getPage(API_CONFIG.ENDPOINTS.MY_EVENTS, cursor);
+      const events = page.events.map(event => {
         if (!event.id) {
           console.warn('Evento sem ID encontrado:', event);
         }
         return event;
       });
-      return { success: true, events };
+      return { success: true, events, nextCursor: page.nextCursor };
     } catch (error) {
       console.error('Error fetching next events:', error);
-      return { success: false, message: error.message, events: [] };
+      return { success: false, message: error.message, events: [], nextCursor: null };
     }
   },
 
   
-  async getNextPublicEvents() {
+  async getNextPublicEvents(cursor = null) {
     try {
       // O backend já filtra eventos ativos e ordena por data por padrão
-      const url = buildUrl(API_CONFIG.ENDPOINTS.PUBLIC_EVENTS);
-      
-      const response = await get(url);
-      const data = await response.json();
-      const events = (data.data || data || []).map(event => {
+      const page = await getPage(API_CONFIG.ENDPOINTS.PUBLIC_EVENTS, cursor);
+      const events = page.events.map(event => {
         if (!event.id) {
           console.warn('Evento público sem ID encontrado:', event);
         }
         return event;
       });
-      return { success: true, events };
+      return { success: true, events, nextCursor: page.nextCursor };
     } catch (error) {
       console.error('Error fetching next public events:', error);
-      return { success: false, message: error.message, events: [] };
+      return { success: false, message: error.message, events: [], nextCursor: null };
     }
   },
 };
@@ -2,6 +2,7 @@
 import { get, post, put } from '../fetchWithAuth';
 import API_CONFIG, { buildUrl } from '../config/api';
 import { handleServiceError } from '../utils/errorHandler';
+import { PARTICIPANT_STATUS } from '../constants';
 
 const ParticipantService = {
   
@@ -169,6 +170,9 @@ const ParticipantService = {
       const data = await response.json();
       
       if (data.success || response.ok) {
+        if (data.data?.status === PARTICIPANT_STATUS.WAITLISTED) {
+          return { success: true, waitlisted: true, message: data.message, data: data.data };
+        }
         return { success: true, message: 'Participação no evento confirmada com sucesso' };
       } else {
         return { success: false, message: data.message || 'Erro ao participar do evento' };
@@ -188,6 +192,9 @@ const ParticipantService = {
       const data = await response.json();
       
       if (data.success || response.ok) {
+        if (data.data?.status === PARTICIPANT_STATUS.WAITLISTED) {
+          return { success: true, waitlisted: true, message: data.message, data: data.data };
+        }
         return { success: true, message: 'Participação no evento confirmada com sucesso via convite' };
       } else {
         return { success: false, message: data.message || 'Erro ao participar do evento via convite' };
@@ -207,6 +214,9 @@ const ParticipantService = {
       const data = await response.json();
       
       if (data.success || response.ok) {
+        if (data.data?.status === PARTICIPANT_STATUS.WAITLISTED) {
+          return { success: true, waitlisted: true, message: data.message, data: data.data };
+        }
         return { success: true, message: 'Participação no evento confirmada com sucesso via código' };
       } else {
         return { success: false, message: data.message || 'Erro ao participar do evento via código' };
@@ -319,6 +329,37 @@ const ParticipantService = {
     }
   },
   
+  // action: CONFIRM, REMOVE, PROMOTE, DEMOTE ou CHANGE_STATUS (com status); data.results traz o resultado por usuário
+  async bulkUpdateParticipants(eventId, action, userIds, status = null) {
+    try {
+      const response = await post(buildUrl(API_CONFIG.ENDPOINTS.PARTICIPANT_BULK, { eventId }), { action, userIds, status });
+      const data = await response.json();
+      
+      if (data.success || response.ok) {
+        return { success: true, data: data.data };
+      } else {
+        return { success: false, message: data.message || 'Erro ao atualizar participantes' };
+      }
+    } catch (error) {
+      return handleServiceError(error, 'Erro ao atualizar participantes');
+    }
+  },
+
+  async getWaitlistStatus(eventId) {
+    try {
+      const response = await get(buildUrl(API_CONFIG.ENDPOINTS.PARTICIPANT_WAITLIST, { eventId }));
+      const data = await response.json();
+      
+      if (data.success || response.ok) {
+        return { success: true, data: data.data };
+      } else {
+        return { success: false, message: data.message || 'Erro ao consultar lista de espera' };
+      }
+    } catch (error) {
+      return handleServiceError(error, 'Erro ao consultar lista de espera');
+    }
+  },
+
   async getAttendanceReport(eventId) {
     try {
       const response = await get(buildUrl(API_CONFIG.ENDPOINTS.PARTICIPANT_ATTENDANCE_REPORT, { eventId }));